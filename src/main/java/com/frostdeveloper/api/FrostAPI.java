@@ -1,24 +1,42 @@
 package com.frostdeveloper.api;
 
+import com.frostdeveloper.api.core.FileMetadata;
+import com.frostdeveloper.api.core.MappedFile;
 import com.frostdeveloper.api.exception.FailedMethodException;
+import com.frostdeveloper.api.handler.AsyncHandler;
+import com.frostdeveloper.api.handler.BatchMove;
+import com.frostdeveloper.api.handler.FileWalker;
+import com.frostdeveloper.api.handler.ResourceCache;
+import com.frostdeveloper.api.handler.ResourceExtractor;
 import com.frostdeveloper.api.handler.Validate;
 import com.frostdeveloper.api.utility.ConsoleColor;
+import com.frostdeveloper.api.utility.ContentDigest;
+import com.frostdeveloper.api.utility.CopyEngine;
+import com.frostdeveloper.api.utility.FileTransfer;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
 import java.text.MessageFormat;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * A class used to house redundant methods used across multiple projects, this plugin
@@ -29,6 +47,9 @@ import java.util.stream.Collectors;
  */
 public class FrostAPI
 {
+	// CLASS SPECIFIC OBJECTS
+	private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyy-MM-dd");
+	
 	/**
 	 * A method used to return an instance of this api class
 	 *
@@ -47,22 +68,28 @@ public class FrostAPI
 	/**
 	 * Returns an input stream for reading the specified resource.
 	 *
+	 * @implNote Small resources are served from a shared {@link ResourceCache}, see {@link #getResourceCache()}.
+	 *
 	 * @param  name
 	 *         The resource name
 	 *
-	 * @return  An input stream for reading the resource; {@code null} if the
-	 *          resource could not be found, the resource is in a package that
-	 *          is not opened unconditionally, or access to the resource is
-	 *          denied by the security manager.
+	 * @return  An input stream for reading the resource
 	 *
-	 * @throws  NullPointerException If {@code name} is {@code null}
+	 * @throws  IllegalArgumentException If the resource could not be found
+	 * @throws  FailedMethodException If the resource could not be read
 	 *
 	 * @since  1.0.0
 	 */
-	public InputStream getResource(String name)
+	public InputStream getResource(@NotNull String name)
 	{
-		Validate.notNull(getClass().getClassLoader().getResourceAsStream(name));
-		return getClass().getClassLoader().getResourceAsStream(name);
+		try {
+			InputStream stream = ResourceHolder.CACHE.open(name);
+			Validate.notNull(stream, format("The resource ({0}) could not be found", name));
+			return stream;
+		}
+		catch (IOException ex) {
+			throw new FailedMethodException("Failed to read the resource ({0})", ex, name);
+		}
 	}
 	
 	/**
@@ -70,15 +97,25 @@ public class FrostAPI
 	 *
 	 * @param name Target resource file name
 	 * @return Resource URL
-	 * @throws  NullPointerException If {@code name} is {@code null}
+	 * @throws  IllegalArgumentException If the resource could not be found
 	 * @since 1.0.0
 	 */
-	public URL getResourceURL(String name)
+	public URL getResourceURL(@NotNull String name)
 	{
-		Validate.notNull(getClass().getClassLoader().getResource(name));
-		return getClass().getClassLoader().getResource(name);
+		URL url = ResourceHolder.CACHE.getURL(name);
+		Validate.notNull(url, format("The resource ({0}) could not be found", name));
+		return url;
 	}
 	
+	/**
+	 * A method used to return the cache shared by every api instance when looking up resources,
+	 * it can be used to inspect the cache statistics or to invalidate a resource.
+	 *
+	 * @return Shared resource cache
+	 * @since 1.3.0
+	 */
+	public ResourceCache getResourceCache() { return ResourceHolder.CACHE;                                        }
+	
 	/**
 	 * A method used to save a resource from our resource file to a defined location.
 	 *
@@ -106,33 +143,185 @@ public class FrostAPI
 	 * @since 1.0.0
 	 */
 	public void saveResource(File location, String name, boolean replace)
+	{
+		saveResource(location, name, replace, FileTransfer.DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * A method used to save a resource from our resource file to a defined location, using a direct
+	 * buffer of the specified size when the resource has to be streamed out of a jar.
+	 *
+	 * @implNote The resource is written to a temporary file next to its location and then renamed
+	 * into place, an existing copy is only replaced once the new copy has been fully written.
+	 *
+	 * @apiNote If replace is enabled, an existing copy is only rewritten when its content differs from the
+	 * resource.
+	 *
+	 * @see #saveResource(File, String, boolean)
+	 *
+	 * @param location Target location
+	 * @param name Resource name
+	 * @param replace Whether an existing resource should be replaced.
+	 * @param bufferSize Size of the copy buffer in bytes
+	 *
+	 * @since 1.3.0
+	 */
+	public void saveResource(File location, String name, boolean replace, int bufferSize)
 	{
 		Validate.notNull(location, "Please specify a location, can be a directory or file");
 		Validate.notNull(name, "Please specify a resource name, please make sure it exists.");
+		Validate.isTrue(bufferSize > 0, "The buffer size must be greater than zero");
 		
-		if (isDirectory(location)) {
-			location = toFile(location + File.separator + name);
-		}
-		
-		if (!replace && location.exists()) {
-			return;
+		try {
+			copyResource(location, name, replace, new CopyEngine(CopyEngine.UNLIMITED, bufferSize), null);
 		}
-		
-		if (replace && location.exists() && !location.delete()) {
-			throw new FailedMethodException("Failed to delete our existing ({0}) file", location.getName());
+		catch (IOException ex) {
+			ex.printStackTrace();
 		}
+	}
+	
+	/**
+	 * A method used to save a resource from our resource file to a defined location through a copy
+	 * engine, limiting the copy to the engine's rate and reporting its progress to a listener.
+	 *
+	 * @apiNote An engine can be shared by several saves, their combined rate is then limited.
+	 *
+	 * @see #saveResource(File, String, boolean)
+	 *
+	 * @param location Target location
+	 * @param name Resource name
+	 * @param replace Whether an existing resource should be replaced.
+	 * @param engine Copy engine
+	 * @param listener Progress listener, or null
+	 *
+	 * @since 1.3.0
+	 */
+	public void saveResource(File location, String name, boolean replace, @NotNull CopyEngine engine, @Nullable CopyEngine.ProgressListener listener)
+	{
+		Validate.notNull(location, "Please specify a location, can be a directory or file");
+		Validate.notNull(name, "Please specify a resource name, please make sure it exists.");
+		Validate.notNull(engine, "The copy engine cannot be null!");
 		
-		try (InputStream input = getResource(name); OutputStream output = new FileOutputStream(location)) {
-			byte[] buf = new byte[8192]; int length;
-			while ((length = input.read(buf)) > 0) {
-				output.write(buf, 0, length);
-			}
+		try {
+			copyResource(location, name, replace, engine, listener);
 		}
 		catch (IOException ex) {
 			ex.printStackTrace();
 		}
 	}
 	
+	/**
+	 * A method used to save a resource from our resource file to a defined location without blocking
+	 * the calling thread, the resource is saved on the executor of {@link AsyncHandler}.
+	 *
+	 * @see #saveResource(File, String, boolean)
+	 *
+	 * @param location Target location
+	 * @param name Resource name
+	 * @param replace Whether an existing resource should be replaced.
+	 * @return A future completed once the resource is saved, or completed exceptionally if it failed
+	 *
+	 * @since 1.3.0
+	 */
+	public CompletableFuture<Void> saveResourceAsync(File location, String name, boolean replace)
+	{
+		Validate.notNull(location, "Please specify a location, can be a directory or file");
+		Validate.notNull(name, "Please specify a resource name, please make sure it exists.");
+		
+		return AsyncHandler.supply(() -> {
+			copyResource(location, name, replace, new CopyEngine(), null);
+			return null;
+		});
+	}
+	
+	/**
+	 * A method used to copy a resource to its location, resolving directory locations to
+	 * include the resource name.
+	 *
+	 * @param location Target location
+	 * @param name Resource name
+	 * @param replace Whether an existing resource should be replaced.
+	 * @param engine Copy engine
+	 * @param listener Progress listener, or null
+	 * @throws IOException If the resource could not be copied
+	 * @since 1.3.0
+	 */
+	private void copyResource(File location, String name, boolean replace, CopyEngine engine, CopyEngine.ProgressListener listener) throws IOException
+	{
+		if (isDirectory(location)) {
+			location = toFile(location + File.separator + name);
+		}
+		
+		URL resource = getResourceURL(name);
+		
+		if (location.exists() && (!replace || ContentDigest.matches(location.toPath(), resource))) {
+			return;
+		}
+		engine.copy(resource, location.toPath(), listener);
+	}
+	
+	/**
+	 * A method used to save every resource whose name starts with a prefix to a directory, existing
+	 * copies of these resources are kept.
+	 *
+	 * @see #saveResources(File, String, boolean)
+	 *
+	 * @param targetDir Target directory
+	 * @param resourcePrefix Resource name prefix
+	 * @return The amount of resources saved
+	 *
+	 * @since 1.3.0
+	 */
+	public int saveResources(File targetDir, String resourcePrefix) { return saveResources(targetDir, resourcePrefix, false); }
+	
+	/**
+	 * A method used to save every resource whose name starts with a prefix to a directory. Each resource
+	 * is placed inside the directory using its full resource name, just like {@link #saveResource(File, String, boolean)}.
+	 * <br><br/>
+	 * The jar this api was loaded from is enumerated once and the resources are written in parallel,
+	 * using one thread per available processor.
+	 *
+	 * @apiNote If replace is enabled, a resource is only rewritten when its content differs from the existing copy.
+	 *
+	 * @throws FailedMethodException If any resource failed to save
+	 *
+	 * @param targetDir Target directory
+	 * @param resourcePrefix Resource name prefix, for example "assets/"
+	 * @param replace Whether existing resources should be replaced.
+	 * @return The amount of resources saved
+	 *
+	 * @since 1.3.0
+	 */
+	public int saveResources(File targetDir, String resourcePrefix, boolean replace)
+	{
+		return saveResources(targetDir, resourcePrefix, replace, Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * A method used to save every resource whose name starts with a prefix to a directory, using at most
+	 * the specified amount of threads.
+	 *
+	 * @see #saveResources(File, String, boolean)
+	 *
+	 * @throws FailedMethodException If any resource failed to save
+	 *
+	 * @param targetDir Target directory
+	 * @param resourcePrefix Resource name prefix, for example "assets/"
+	 * @param replace Whether existing resources should be replaced.
+	 * @param parallelism Maximum amount of resources saved at the same time
+	 * @return The amount of resources saved
+	 *
+	 * @since 1.3.0
+	 */
+	public int saveResources(File targetDir, String resourcePrefix, boolean replace, int parallelism)
+	{
+		Validate.notNull(targetDir, "Please specify a target directory");
+		Validate.notNull(resourcePrefix, "Please specify a resource prefix");
+		
+		ResourceExtractor extractor = new ResourceExtractor(getClass(), parallelism, FileTransfer.DEFAULT_BUFFER_SIZE);
+		return extractor.extract(targetDir, resourcePrefix, replace);
+	}
+	
 	/**
 	 * A method used to create all parent directories for a targeted file.
 	 *
@@ -353,6 +542,34 @@ public class FrostAPI
 		return stringPath.substring(stringPath.lastIndexOf("."));
 	}
 	
+	/*
+	 * READING FILES
+	 */
+	
+	/**
+	 * A method used to open a file for reading through memory mapping, the file is mapped in chunks
+	 * so files larger than 2 GB are supported.
+	 *
+	 * @apiNote Remember to close the returned file, closing it releases the mappings immediately.
+	 *
+	 * @throws FailedMethodException If the file could not be opened
+	 *
+	 * @param target Target file
+	 * @return Mapped file
+	 * @since 1.3.0
+	 */
+	public MappedFile mapFile(@NotNull File target)
+	{
+		Validate.notNull(target, "The target file cannot be null!");
+		
+		try {
+			return new MappedFile(target);
+		}
+		catch (IOException ex) {
+			throw new FailedMethodException("Failed to map the file ({0})", ex, target.getName());
+		}
+	}
+	
 	/*
 	 * GET FILE ATTRIBUTES
 	 */
@@ -387,7 +604,7 @@ public class FrostAPI
 	public String getCreatedDate(@NotNull File target)
 	{
 		FileTime time = getFileAttribute(target).creationTime();
-		return format(new Date(time.toMillis()));
+		return format(time.toMillis());
 	}
 	
 	/**
@@ -400,7 +617,7 @@ public class FrostAPI
 	public String getLastModified(@NotNull File target)
 	{
 		FileTime time = getFileAttribute(target).lastModifiedTime();
-		return format(new Date(time.toMillis()));
+		return format(time.toMillis());
 	}
 	
 	/**
@@ -413,7 +630,91 @@ public class FrostAPI
 	public String getLastAccessed(@NotNull File target)
 	{
 		FileTime time = getFileAttribute(target).lastAccessTime();
-		return format(new Date(time.toMillis()));
+		return format(time.toMillis());
+	}
+	
+	/**
+	 * A method used to take a snapshot of a file's attributes, every attribute is read with a single
+	 * file system call.
+	 *
+	 * @param target Target file
+	 * @return File metadata
+	 * @since 1.3.0
+	 */
+	public FileMetadata getMetadata(@NotNull File target)
+	{
+		Validate.notNull(target, "Please create the file first.");
+		
+		try {
+			return FileMetadata.of(target.toPath());
+		}
+		catch (IOException ex) {
+			ex.printStackTrace();
+			return null;
+		}
+	}
+	
+	/**
+	 * A method used to take a snapshot of the attributes of every index inside a directory, the directory
+	 * itself is not included. The directory tree is walked in parallel, indexes that disappear while walking
+	 * the directory are skipped.
+	 *
+	 * @see FileWalker
+	 *
+	 * @throws FailedMethodException If the directory could not be walked
+	 *
+	 * @param directory Target directory
+	 * @param recursive Whether subdirectories should be included
+	 * @return File metadata of every index
+	 * @since 1.3.0
+	 */
+	public List<FileMetadata> getMetadata(@NotNull File directory, boolean recursive)
+	{
+		Validate.notNull(directory, "The target directory cannot be null!");
+		FileWalker walker = new FileWalker(directory.toPath(), FileWalker.Type.ANY, recursive ? Integer.MAX_VALUE : 1);
+		
+		try (Stream<FileMetadata> stream = walker.metadata()) {
+			return stream.collect(Collectors.toList());
+		}
+		catch (UncheckedIOException ex) {
+			throw new FailedMethodException("Failed to walk the directory ({0})", ex.getCause(), directory.getName());
+		}
+	}
+	
+	/*
+	 * WALKING DIRECTORIES
+	 */
+	
+	/**
+	 * A method used to walk a directory tree in parallel and return every index inside of it.
+	 *
+	 * @see #walk(File, FileWalker.Type, String...)
+	 *
+	 * @param directory Target directory
+	 * @return Lazy stream of every index
+	 * @since 1.3.0
+	 */
+	public Stream<Path> walk(@NotNull File directory) { return walk(directory, FileWalker.Type.ANY);               }
+	
+	/**
+	 * A method used to walk a directory tree in parallel and return every index of a type inside of it.
+	 * If extensions are specified, only files ending with one of these extensions are returned.
+	 * <br><br/>
+	 * For example: walk(directory, FileWalker.Type.FILE, "yml", "properties")
+	 *
+	 * @apiNote The stream is filled while the tree is walked, remember to close it. Closing the stream
+	 * early stops the walk. If a directory cannot be read, the stream throws an {@link UncheckedIOException}.
+	 *
+	 * @param directory Target directory
+	 * @param type Index type
+	 * @param extensions File extensions, with or without their '.' character
+	 * @return Lazy stream of matching indexes
+	 * @since 1.3.0
+	 */
+	public Stream<Path> walk(@NotNull File directory, FileWalker.Type type, String... extensions)
+	{
+		Validate.notNull(directory, "The target directory cannot be null!");
+		return new FileWalker(directory.toPath(), type, extensions).stream();
 	}
 	
 	/*
@@ -503,9 +804,12 @@ public class FrostAPI
 			return;
 		}
 		
-		if (!target.getName().equals(name) && !target.renameTo(toFile(target.getParentFile(), name))) {
-			if (!target.exists()) {
-				throw new FailedMethodException("Failed to rename file");
+		if (!target.getName().equals(name)) {
+			try {
+				BatchMove.move(target.toPath(), toFile(target.getParentFile(), name).toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (IOException ex) {
+				throw new FailedMethodException("Failed to rename file", ex);
 			}
 		}
 	}
@@ -513,6 +817,9 @@ public class FrostAPI
 	/**
 	 * A method used to relocate an index to a new location
 	 *
+	 * @implNote The index is moved atomically when possible, if the new location is on a different
+	 * file system, the index is copied and then deleted.
+	 *
 	 * @param target Target index
 	 * @param location Desired Location
 	 * @since 1.1.0
@@ -522,19 +829,95 @@ public class FrostAPI
 		Validate.notNull(target, "The target file cannot be null!");
 		Validate.notNull(location, "The new file name cannot be null");
 		
+		moveIndex(target, location, null, null);
+	}
+	
+	/**
+	 * A method used to relocate an index to a new location. If the new location is on a different file
+	 * system, the index is copied through a copy engine, limiting the copy to the engine's rate and
+	 * reporting its progress to a listener.
+	 *
+	 * @see #relocateIndex(File, File)
+	 *
+	 * @param target Target index
+	 * @param location Desired Location
+	 * @param engine Copy engine
+	 * @param listener Progress listener, or null
+	 * @since 1.3.0
+	 */
+	public void relocateIndex(File target, File location, @NotNull CopyEngine engine, @Nullable CopyEngine.ProgressListener listener)
+	{
+		Validate.notNull(target, "The target file cannot be null!");
+		Validate.notNull(location, "The new file name cannot be null");
+		Validate.notNull(engine, "The copy engine cannot be null!");
+		
+		moveIndex(target, location, engine, listener);
+	}
+	
+	/**
+	 * A method used to move an index to a new location, creating its parent directory if needed.
+	 *
+	 * @param target Target index
+	 * @param location Desired Location
+	 * @param engine Copy engine used across file systems, or null to let the file system copy the index
+	 * @param listener Progress listener, or null
+	 * @since 1.3.0
+	 */
+	private void moveIndex(File target, File location, CopyEngine engine, CopyEngine.ProgressListener listener)
+	{
 		if (!target.exists()) {
 			return;
 		}
 		
 		createParent(location);
 		
-		if (target != location && !target.renameTo(location)) {
-			if (!target.exists()) {
-				throw new FailedMethodException("Failed to rename file");
+		if (!target.equals(location)) {
+			try {
+				BatchMove.move(target.toPath(), location.toPath(), engine, listener, StandardCopyOption.REPLACE_EXISTING);
+			}
+			catch (IOException ex) {
+				throw new FailedMethodException("Failed to rename file", ex);
 			}
 		}
 	}
 	
+	/**
+	 * A method used to relocate an index to a new location without blocking the calling thread,
+	 * the index is relocated on the executor of {@link AsyncHandler}.
+	 *
+	 * @see #relocateIndex(File, File)
+	 *
+	 * @param target Target index
+	 * @param location Desired Location
+	 * @return A future completed once the index is relocated, or completed exceptionally if it failed
+	 * @since 1.3.0
+	 */
+	public CompletableFuture<Void> relocateIndexAsync(File target, File location)
+	{
+		return AsyncHandler.run(() -> relocateIndex(target, location));
+	}
+	
+	/**
+	 * A method used to relocate many indexes as a single transaction. Each key is relocated to
+	 * its value, independent moves run in parallel and if any move fails, every completed move
+	 * is reverted.
+	 *
+	 * @see BatchMove
+	 *
+	 * @throws FailedMethodException If any index failed to relocate, after the batch was reverted
+	 *
+	 * @param locations Target indexes and their desired locations
+	 * @since 1.3.0
+	 */
+	public void relocateIndexes(@NotNull Map<File, File> locations)
+	{
+		Validate.notNull(locations, "The locations cannot be null!");
+		
+		BatchMove batch = new BatchMove();
+		locations.forEach(batch::add);
+		batch.execute();
+	}
+	
 	/*
 	 * TIME METHODS
 	 */
@@ -855,7 +1238,19 @@ public class FrostAPI
 	 * @return Formatted date
 	 * @since 1.0.0
 	 */
-	public String format(Date date) { return dateFormat().format(date);                                           }
+	public String format(Date date) { return format(date.getTime());                                              }
+	
+	/**
+	 * A method used to format a point in time to a pre-defined pattern
+	 *
+	 * @param epochMillis Target time in epoch milliseconds
+	 * @return Formatted date
+	 * @since 1.3.0
+	 */
+	public String format(long epochMillis)
+	{
+		return DATE_FORMATTER.format(Instant.ofEpochMilli(epochMillis).atZone(ZoneId.systemDefault()));
+	}
 	
 	/**
 	 * A method used to format a date to a specific pattern
@@ -1026,4 +1421,14 @@ public class FrostAPI
 			list.add(value);
 		}
 	}
+	
+	/**
+	 * A class used to lazily hold the resource cache shared by every api instance.
+	 *
+	 * @since 1.3.0
+	 */
+	private static final class ResourceHolder
+	{
+		private static final ResourceCache CACHE = new ResourceCache(FrostAPI.class.getClassLoader());
+	}
 }
\ No newline at end of file
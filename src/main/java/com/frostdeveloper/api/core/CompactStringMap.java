@@ -0,0 +1,777 @@
+package com.frostdeveloper.api.core;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A class used to hold a property list in as little memory as possible. Entries are kept in three
+ * parallel arrays probed linearly, so there is no entry object per key. Keys that only hold ISO 8859-1
+ * characters are stored as a byte array rather than a string, and short values are looked up in a pool
+ * shared by every map, so repeated values such as {@code true} or a hostname are held only once.
+ * <br><br/>
+ * Reads never lock, they are validated against the stamp of a {@link StampedLock} and only take the
+ * read lock if a write happened meanwhile. Writes take the write lock.
+ *
+ * @implNote Iterators are weakly consistent like those of a {@link java.util.concurrent.ConcurrentHashMap},
+ * they never throw a {@link ConcurrentModificationException}. Keys stored as bytes are decoded every time
+ * they are iterated, which trades some allocation while storing a list for a smaller resident list.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+final class CompactStringMap extends AbstractMap<String, String>
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final Object TOMBSTONE = new Object();
+	private static final int INITIAL_CAPACITY = 16;
+	private static final int MAX_POOLED_LENGTH = 64;
+	private static final String[] POOL = new String[4096];
+	
+	private static final int OBJECT_HEADER = 12;
+	private static final int ARRAY_HEADER = 16;
+	private static final int REFERENCE = 4;
+	
+	private final StampedLock lock = new StampedLock();
+	private final Set<Map.Entry<String, String>> entrySet = new EntrySet();
+	private Table table;
+	private int size;
+	private int tombstones;
+	
+	/**
+	 * Creates a new empty map.
+	 *
+	 * @since 1.3.0
+	 */
+	CompactStringMap()                       { table = new Table(INITIAL_CAPACITY); }
+	
+	/**
+	 * Creates a new map holding the entries of another map. Copying another compact map copies its
+	 * arrays without probing every key again.
+	 *
+	 * @param source Source map
+	 * @since 1.3.0
+	 */
+	CompactStringMap(@NotNull Map<String, String> source)
+	{
+		if (source instanceof CompactStringMap) {
+			CompactStringMap compact = (CompactStringMap) source;
+			long stamp = compact.lock.readLock();
+			try {
+				table = compact.table.copy();
+				size = compact.size;
+				tombstones = compact.tombstones;
+			}
+			finally {
+				compact.lock.unlockRead(stamp);
+			}
+			return;
+		}
+		
+		table = new Table(capacityFor(source.size()));
+		
+		for (Map.Entry<String, String> entry : source.entrySet()) {
+			put(entry.getKey(), entry.getValue());
+		}
+	}
+	
+	/*
+	 * MAP OPERATIONS
+	 */
+	
+	/**
+	 * A method used to return the value of a key without locking, unless a write happened while the
+	 * key was looked up.
+	 *
+	 * @param key Target key
+	 * @return Its value, or null if the key is not present
+	 * @since 1.3.0
+	 */
+	@Override
+	public String get(Object key)
+	{
+		if (!(key instanceof String)) {
+			return null;
+		}
+		
+		String target = (String) key;
+		int hash = target.hashCode();
+		
+		long stamp = lock.tryOptimisticRead();
+		String value = find(table, target, hash);
+		
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				value = find(table, target, hash);
+			}
+			finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return value;
+	}
+	
+	@Override
+	public boolean containsKey(Object key)   { return get(key) != null;            }
+	
+	@Override
+	public int size()
+	{
+		long stamp = lock.tryOptimisticRead();
+		int current = size;
+		
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				current = size;
+			}
+			finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return current;
+	}
+	
+	@Override
+	public boolean isEmpty()                 { return size() == 0;                 }
+	
+	@Override
+	public String put(String key, String value)
+	{
+		Objects.requireNonNull(key);
+		String pooled = pool(Objects.requireNonNull(value));
+		int hash = key.hashCode();
+		
+		long stamp = lock.writeLock();
+		try {
+			Table current = table;
+			int mask = current.keys.length - 1;
+			int free = -1;
+			
+			for (int i = slot(hash, mask), probes = 0; probes <= mask; i = i + 1 & mask, probes++) {
+				Object slot = current.keys[i];
+				
+				if (slot == null) {
+					if (free < 0) {
+						free = i;
+					}
+					break;
+				}
+				
+				if (slot == TOMBSTONE) {
+					if (free < 0) {
+						free = i;
+					}
+				}
+				else if (current.hashes[i] == hash && matches(slot, key)) {
+					String previous = current.values[i];
+					current.values[i] = pooled;
+					return previous;
+				}
+			}
+			
+			if (current.keys[free] == TOMBSTONE) {
+				tombstones--;
+			}
+			
+			current.hashes[free] = hash;
+			current.values[free] = pooled;
+			current.keys[free] = encode(key);
+			size++;
+			
+			if (size + tombstones > current.keys.length / 4 * 3) {
+				rehash(capacityFor(size));
+			}
+			return null;
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+	
+	@Override
+	public String remove(Object key)
+	{
+		if (!(key instanceof String)) {
+			return null;
+		}
+		
+		String target = (String) key;
+		int hash = target.hashCode();
+		
+		long stamp = lock.writeLock();
+		try {
+			Table current = table;
+			int index = indexOf(current, target, hash);
+			
+			if (index < 0) {
+				return null;
+			}
+			
+			String previous = current.values[index];
+			current.keys[index] = TOMBSTONE;
+			current.values[index] = null;
+			size--;
+			tombstones++;
+			
+			if (current.keys.length > INITIAL_CAPACITY && size < current.keys.length / 8) {
+				rehash(capacityFor(size));
+			}
+			return previous;
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+	
+	@Override
+	public void clear()
+	{
+		long stamp = lock.writeLock();
+		try {
+			table = new Table(INITIAL_CAPACITY);
+			size = 0;
+			tombstones = 0;
+		}
+		finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+	
+	@Override
+	public Set<Map.Entry<String, String>> entrySet() { return entrySet;             }
+	
+	/**
+	 * A method used to return every key starting with a prefix, in alphabetical order. The table is
+	 * scanned without locking unless a write happened meanwhile, stored keys are compared with the
+	 * prefix without decoding them and only matching keys are decoded.
+	 *
+	 * @apiNote The returned set is a copy, no sorted index of the keys is ever kept by this map.
+	 *
+	 * @param prefix Key prefix
+	 * @return Sorted matching keys
+	 * @since 1.3.0
+	 */
+	NavigableSet<String> keysWithPrefix(@NotNull String prefix)
+	{
+		long stamp = lock.tryOptimisticRead();
+		NavigableSet<String> keys = scan(table, prefix);
+		
+		if (!lock.validate(stamp)) {
+			stamp = lock.readLock();
+			try {
+				keys = scan(table, prefix);
+			}
+			finally {
+				lock.unlockRead(stamp);
+			}
+		}
+		return keys;
+	}
+	
+	/*
+	 * MEMORY FOOTPRINT
+	 */
+	
+	/**
+	 * A method used to estimate the heap memory held by this map, counting its arrays, its keys and
+	 * every distinct value once. Pooled values shared with other maps are counted here as well.
+	 *
+	 * @return Estimated size in bytes
+	 * @since 1.3.0
+	 */
+	long getMemoryFootprint()
+	{
+		long stamp = lock.readLock();
+		try {
+			Table current = table;
+			int capacity = current.keys.length;
+			long footprint = align(OBJECT_HEADER + REFERENCE * 4 + 8) + align(OBJECT_HEADER + REFERENCE * 3);
+			footprint += arraySize(capacity, 4) + arraySize(capacity, REFERENCE) * 2;
+			
+			Set<String> counted = Collections.newSetFromMap(new IdentityHashMap<>());
+			
+			for (int i = 0; i < capacity; i++) {
+				Object slot = current.keys[i];
+				
+				if (slot == null || slot == TOMBSTONE) {
+					continue;
+				}
+				
+				footprint += slot instanceof byte[] ? arraySize(((byte[]) slot).length, 1) : stringSize((String) slot);
+				
+				if (counted.add(current.values[i])) {
+					footprint += stringSize(current.values[i]);
+				}
+			}
+			return footprint;
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	/**
+	 * A method used to estimate the heap memory held by a string, assuming a 64-bit JVM with
+	 * compressed references and compact strings.
+	 *
+	 * @param value Target string
+	 * @return Estimated size in bytes
+	 * @since 1.3.0
+	 */
+	static long stringSize(@NotNull String value)
+	{
+		return align(OBJECT_HEADER + REFERENCE + 8) + arraySize(value.length(), isNarrow(value) ? 1 : 2);
+	}
+	
+	/**
+	 * A method used to estimate the heap memory held by an array.
+	 *
+	 * @param length Array length
+	 * @param elementSize Size of a single element in bytes
+	 * @return Estimated size in bytes
+	 * @since 1.3.0
+	 */
+	static long arraySize(int length, int elementSize) { return align(ARRAY_HEADER + (long) length * elementSize); }
+	
+	/**
+	 * A method used to round a size up to the eight byte alignment of objects.
+	 *
+	 * @param size Unaligned size
+	 * @return Aligned size
+	 * @since 1.3.0
+	 */
+	private static long align(long size)     { return size + 7 & ~7L;              }
+	
+	/*
+	 * TABLE HANDLING
+	 */
+	
+	/**
+	 * A method used to look up the value of a key in a table. The table may be changed by a writer
+	 * while it is probed, the caller validates the result afterwards.
+	 *
+	 * @param current Probed table
+	 * @param key Target key
+	 * @param hash Hash code of the key
+	 * @return Its value, or null if the key is not present
+	 * @since 1.3.0
+	 */
+	private static String find(Table current, String key, int hash)
+	{
+		int index = indexOf(current, key, hash);
+		return index < 0 ? null : current.values[index];
+	}
+	
+	/**
+	 * A method used to collect the keys of a table starting with a prefix. The table may be changed by
+	 * a writer while it is scanned, the caller validates the result afterwards.
+	 *
+	 * @param current Scanned table
+	 * @param prefix Key prefix
+	 * @return Sorted matching keys
+	 * @since 1.3.0
+	 */
+	private static NavigableSet<String> scan(Table current, String prefix)
+	{
+		NavigableSet<String> keys = new TreeSet<>();
+		
+		for (Object slot : current.keys) {
+			if (slot != null && slot != TOMBSTONE && startsWith(slot, prefix)) {
+				keys.add(decode(slot));
+			}
+		}
+		return keys;
+	}
+	
+	/**
+	 * A method used to find the slot of a key in a table, probing is bounded by the capacity so that
+	 * a table changed while it is probed can never be probed forever.
+	 *
+	 * @param current Probed table
+	 * @param key Target key
+	 * @param hash Hash code of the key
+	 * @return Slot index, or -1 if the key is not present
+	 * @since 1.3.0
+	 */
+	private static int indexOf(Table current, String key, int hash)
+	{
+		int mask = current.keys.length - 1;
+		
+		for (int i = slot(hash, mask), probes = 0; probes <= mask; i = i + 1 & mask, probes++) {
+			Object slot = current.keys[i];
+			
+			if (slot == null) {
+				return -1;
+			}
+			
+			if (slot != TOMBSTONE && current.hashes[i] == hash && matches(slot, key)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+	
+	/**
+	 * A method used to move every entry to a new table, dropping the tombstones left by removed keys.
+	 * The caller must hold the write lock.
+	 *
+	 * @param capacity New capacity, a power of two
+	 * @since 1.3.0
+	 */
+	private void rehash(int capacity)
+	{
+		Table current = table;
+		Table replacement = new Table(capacity);
+		int mask = capacity - 1;
+		
+		for (int i = 0; i < current.keys.length; i++) {
+			Object slot = current.keys[i];
+			
+			if (slot == null || slot == TOMBSTONE) {
+				continue;
+			}
+			
+			int index = slot(current.hashes[i], mask);
+			
+			while (replacement.keys[index] != null) {
+				index = index + 1 & mask;
+			}
+			
+			replacement.hashes[index] = current.hashes[i];
+			replacement.keys[index] = slot;
+			replacement.values[index] = current.values[i];
+		}
+		
+		table = replacement;
+		tombstones = 0;
+	}
+	
+	/**
+	 * A method used to return the first slot probed for a hash code. The hash code is scrambled first,
+	 * so keys that only differ in their last characters do not end up in neighbouring slots.
+	 *
+	 * @param hash Hash code of the key
+	 * @param mask Capacity minus one
+	 * @return Slot index
+	 * @since 1.3.0
+	 */
+	private static int slot(int hash, int mask)
+	{
+		int scrambled = hash * 0x9E3779B9;
+		return (scrambled ^ scrambled >>> 16) & mask;
+	}
+	
+	/**
+	 * A method used to return the smallest capacity that holds an amount of entries.
+	 *
+	 * @param entries Amount of entries
+	 * @return Table capacity, a power of two
+	 * @since 1.3.0
+	 */
+	private static int capacityFor(int entries)
+	{
+		int capacity = INITIAL_CAPACITY;
+		
+		while (capacity / 4 * 3 <= entries) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+	
+	/*
+	 * KEY AND VALUE ENCODING
+	 */
+	
+	/**
+	 * A method used to encode a key for storage, as ISO 8859-1 bytes if every character fits in a
+	 * single byte.
+	 *
+	 * @param key Target key
+	 * @return Byte array or the key itself
+	 * @since 1.3.0
+	 */
+	private static Object encode(String key)
+	{
+		return isNarrow(key) ? key.getBytes(StandardCharsets.ISO_8859_1) : key;
+	}
+	
+	/**
+	 * A method used to decode a stored key.
+	 *
+	 * @param slot Byte array or key
+	 * @return Decoded key
+	 * @since 1.3.0
+	 */
+	private static String decode(Object slot)
+	{
+		return slot instanceof byte[] ? new String((byte[]) slot, StandardCharsets.ISO_8859_1) : (String) slot;
+	}
+	
+	/**
+	 * A method used to test whether a stored key equals a key, without decoding it.
+	 *
+	 * @param slot Byte array or key
+	 * @param key Target key
+	 * @return Whether both keys are equal
+	 * @since 1.3.0
+	 */
+	private static boolean matches(Object slot, String key)
+	{
+		if (!(slot instanceof byte[])) {
+			return key.equals(slot);
+		}
+		
+		byte[] bytes = (byte[]) slot;
+		
+		if (bytes.length != key.length()) {
+			return false;
+		}
+		
+		for (int i = 0; i < bytes.length; i++) {
+			if ((bytes[i] & 0xFF) != key.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * A method used to test whether a stored key starts with a prefix, without decoding it.
+	 *
+	 * @param slot Byte array or key
+	 * @param prefix Key prefix
+	 * @return Whether the key starts with the prefix
+	 * @since 1.3.0
+	 */
+	private static boolean startsWith(Object slot, String prefix)
+	{
+		if (!(slot instanceof byte[])) {
+			return ((String) slot).startsWith(prefix);
+		}
+		
+		byte[] bytes = (byte[]) slot;
+		
+		if (bytes.length < prefix.length()) {
+			return false;
+		}
+		
+		for (int i = 0; i < prefix.length(); i++) {
+			if ((bytes[i] & 0xFF) != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * A method used to test whether every character of a string fits in a single byte.
+	 *
+	 * @param value Target string
+	 * @return Whether the string is ISO 8859-1
+	 * @since 1.3.0
+	 */
+	private static boolean isNarrow(String value)
+	{
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) > 0xFF) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * A method used to return the pooled instance of a value. The pool is a fixed size table shared
+	 * by every map, a value replaces whatever value shared its slot, so the pool never grows and never
+	 * keeps a value alive longer than the pool is used.
+	 *
+	 * @apiNote Strings are immutable, so the pool is read and written without locking. Two threads
+	 * racing for a slot may both keep their own instance, which only costs a missed deduplication.
+	 *
+	 * @param value Target value
+	 * @return Pooled value equal to the given value
+	 * @since 1.3.0
+	 */
+	private static String pool(String value)
+	{
+		if (value.length() > MAX_POOLED_LENGTH) {
+			return value;
+		}
+		
+		int hash = value.hashCode();
+		int index = (hash ^ hash >>> 16) & POOL.length - 1;
+		String pooled = POOL[index];
+		
+		if (value.equals(pooled)) {
+			return pooled;
+		}
+		
+		POOL[index] = value;
+		return value;
+	}
+	
+	/*
+	 * NESTED CLASSES
+	 */
+	
+	/**
+	 * A class used to hold the parallel arrays of a map, so a reader always probes arrays of the same
+	 * capacity.
+	 *
+	 * @since 1.3.0
+	 */
+	private static final class Table
+	{
+		private final int[] hashes;
+		private final Object[] keys;
+		private final String[] values;
+		
+		private Table(int capacity)
+		{
+			hashes = new int[capacity];
+			keys = new Object[capacity];
+			values = new String[capacity];
+		}
+		
+		private Table(int[] hashes, Object[] keys, String[] values)
+		{
+			this.hashes = hashes;
+			this.keys = keys;
+			this.values = values;
+		}
+		
+		private Table copy()                 { return new Table(hashes.clone(), keys.clone(), values.clone()); }
+	}
+	
+	/**
+	 * A class used to view the entries of the map.
+	 *
+	 * @since 1.3.0
+	 */
+	private final class EntrySet extends AbstractSet<Map.Entry<String, String>>
+	{
+		@Override
+		public Iterator<Map.Entry<String, String>> iterator() { return new EntryIterator(); }
+		
+		@Override
+		public int size()                    { return CompactStringMap.this.size(); }
+		
+		@Override
+		public void clear()                  { CompactStringMap.this.clear();      }
+	}
+	
+	/**
+	 * A class used to iterate over the slots of the table the map held when iteration started.
+	 *
+	 * @since 1.3.0
+	 */
+	private final class EntryIterator implements Iterator<Map.Entry<String, String>>
+	{
+		private final Table current = table();
+		private int position;
+		private Map.Entry<String, String> next;
+		private Map.Entry<String, String> last;
+		
+		@Override
+		public boolean hasNext()
+		{
+			while (next == null && position < current.keys.length) {
+				next = read(position++);
+			}
+			return next != null;
+		}
+		
+		@Override
+		public Map.Entry<String, String> next()
+		{
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			
+			last = next;
+			next = null;
+			return last;
+		}
+		
+		@Override
+		public void remove()
+		{
+			if (last == null) {
+				throw new IllegalStateException();
+			}
+			
+			CompactStringMap.this.remove(last.getKey());
+			last = null;
+		}
+		
+		/**
+		 * A method used to read a single slot, validated like {@link #get(Object)}.
+		 *
+		 * @param index Slot index
+		 * @return Slot entry, or null if the slot is empty
+		 * @since 1.3.0
+		 */
+		private Map.Entry<String, String> read(int index)
+		{
+			long stamp = lock.tryOptimisticRead();
+			Object slot = current.keys[index];
+			String value = current.values[index];
+			
+			if (!lock.validate(stamp)) {
+				stamp = lock.readLock();
+				try {
+					slot = current.keys[index];
+					value = current.values[index];
+				}
+				finally {
+					lock.unlockRead(stamp);
+				}
+			}
+			
+			if (slot == null || slot == TOMBSTONE || value == null) {
+				return null;
+			}
+			return new Entry(decode(slot), value);
+		}
+	}
+	
+	/**
+	 * A method used to return the current table under the read lock, so an iterator starts from a
+	 * fully published table.
+	 *
+	 * @return Current table
+	 * @since 1.3.0
+	 */
+	private Table table()
+	{
+		long stamp = lock.readLock();
+		try {
+			return table;
+		}
+		finally {
+			lock.unlockRead(stamp);
+		}
+	}
+	
+	/**
+	 * A class used to return an entry from an iterator, setting its value writes through to the map.
+	 *
+	 * @since 1.3.0
+	 */
+	@SuppressWarnings ("serial")
+	private final class Entry extends SimpleEntry<String, String>
+	{
+		private Entry(String key, String value) { super(key, value); }
+		
+		@Override
+		public String setValue(String value)
+		{
+			put(getKey(), value);
+			return super.setValue(value);
+		}
+	}
+}
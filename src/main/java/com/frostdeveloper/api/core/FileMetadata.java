@@ -0,0 +1,164 @@
+package com.frostdeveloper.api.core;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+/**
+ * <p>
+ * The FileMetadata class is designed to hold an immutable snapshot of a file's basic attributes. Every
+ * attribute is read from the file system at once and the times are kept as epoch milliseconds, so no
+ * further file system calls or date formatting is needed to inspect them.
+ * <p/>
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public final class FileMetadata
+{
+	// CLASS OBJECTS
+	private final Path path;
+	private final long size;
+	private final long creationTime;
+	private final long lastModified;
+	private final long lastAccessed;
+	private final boolean directory;
+	private final boolean regularFile;
+	private final boolean symbolicLink;
+	
+	/**
+	 * Creates a new snapshot of a file's attributes.
+	 *
+	 * @param path File path
+	 * @param attributes File attributes
+	 * @since 1.3.0
+	 */
+	public FileMetadata(@NotNull Path path, @NotNull BasicFileAttributes attributes)
+	{
+		this.path = path;
+		this.size = attributes.size();
+		this.creationTime = attributes.creationTime().toMillis();
+		this.lastModified = attributes.lastModifiedTime().toMillis();
+		this.lastAccessed = attributes.lastAccessTime().toMillis();
+		this.directory = attributes.isDirectory();
+		this.regularFile = attributes.isRegularFile();
+		this.symbolicLink = attributes.isSymbolicLink();
+	}
+	
+	/**
+	 * A method used to read the attributes of a file with a single file system call. Symbolic
+	 * links are not followed.
+	 *
+	 * @param path Target file
+	 * @return File metadata
+	 * @throws IOException If the attributes could not be read
+	 * @since 1.3.0
+	 */
+	@Contract ("_ -> new")
+	public static @NotNull FileMetadata of(@NotNull Path path) throws IOException
+	{
+		return new FileMetadata(path, Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS));
+	}
+	
+	/**
+	 * A method used to return the path this snapshot was taken from.
+	 *
+	 * @return File path
+	 * @since 1.3.0
+	 */
+	public Path getPath()                   { return path;                                    }
+	
+	/**
+	 * A method used to return the size of the file in bytes.
+	 *
+	 * @return File size
+	 * @since 1.3.0
+	 */
+	public long getSize()                   { return size;                                    }
+	
+	/**
+	 * A method used to return the time the file was created.
+	 *
+	 * @return Creation time in epoch milliseconds
+	 * @since 1.3.0
+	 */
+	public long getCreationTime()           { return creationTime;                            }
+	
+	/**
+	 * A method used to return the time the file was last modified.
+	 *
+	 * @return Last modified time in epoch milliseconds
+	 * @since 1.3.0
+	 */
+	public long getLastModified()           { return lastModified;                            }
+	
+	/**
+	 * A method used to return the time the file was last accessed.
+	 *
+	 * @return Last access time in epoch milliseconds
+	 * @since 1.3.0
+	 */
+	public long getLastAccessed()           { return lastAccessed;                            }
+	
+	/**
+	 * A method used to return whether the index is a directory.
+	 *
+	 * @return Whether our index is a directory.
+	 * @since 1.3.0
+	 */
+	public boolean isDirectory()            { return directory;                               }
+	
+	/**
+	 * A method used to return whether the index is a regular file.
+	 *
+	 * @return Whether our index is a file.
+	 * @since 1.3.0
+	 */
+	public boolean isFile()                 { return regularFile;                             }
+	
+	/**
+	 * A method used to return whether the index is a symbolic link.
+	 *
+	 * @return Whether our index is a symbolic link.
+	 * @since 1.3.0
+	 */
+	public boolean isSymbolicLink()         { return symbolicLink;                            }
+	
+	@Override
+	public boolean equals(Object object)
+	{
+		if (this == object) {
+			return true;
+		}
+		if (!(object instanceof FileMetadata)) {
+			return false;
+		}
+		
+		FileMetadata other = (FileMetadata) object;
+		return size == other.size && creationTime == other.creationTime && lastModified == other.lastModified
+				&& lastAccessed == other.lastAccessed && directory == other.directory && regularFile == other.regularFile
+				&& symbolicLink == other.symbolicLink && path.equals(other.path);
+	}
+	
+	@Override
+	public int hashCode()
+	{
+		int result = path.hashCode();
+		result = 31 * result + Long.hashCode(size);
+		result = 31 * result + Long.hashCode(lastModified);
+		return result;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return "FileMetadata{path=" + path + ", size=" + size + ", creationTime=" + creationTime
+				+ ", lastModified=" + lastModified + ", lastAccessed=" + lastAccessed + ", directory=" + directory
+				+ ", regularFile=" + regularFile + ", symbolicLink=" + symbolicLink + "}";
+	}
+}
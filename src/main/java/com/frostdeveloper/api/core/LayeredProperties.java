@@ -0,0 +1,170 @@
+package com.frostdeveloper.api.core;
+
+import com.frostdeveloper.api.handler.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * The LayeredProperties class is designed to read several property lists as one, such as built-in
+ * defaults, a site file, a node file and runtime overrides. A key resolves to its value in the layer
+ * with the highest precedence that defines it.
+ * <p/>
+ *
+ * @apiNote The resolved values are kept in a single flattened map, so reading a key is a single lookup
+ * no matter how many layers there are. Whenever a layer changes, only the changed key is resolved
+ * again, a layer that is loaded, reloaded or cleared resolves every key again.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class LayeredProperties implements Closeable
+{
+	// CLASS OBJECTS
+	private final List<Properties> layers;
+	private volatile Map<String, String> resolved = new ConcurrentHashMap<>();
+	
+	// CLASS SPECIFIC OBJECTS
+	private final Consumer<String> observer = this::changed;
+	
+	/**
+	 * Creates a new layered list, layers are listed from the lowest to the highest precedence.
+	 *
+	 * @param layers Property lists, defaults first and overrides last
+	 * @since 1.3.0
+	 */
+	public LayeredProperties(@NotNull Properties... layers)
+	{
+		Validate.notNull(layers, "The layers cannot be null!");
+		
+		for (Properties layer : layers) {
+			Validate.notNull(layer, "A layer cannot be null!");
+		}
+		
+		this.layers = Collections.unmodifiableList(Arrays.asList(layers.clone()));
+		
+		synchronized (this) {
+			for (Properties layer : this.layers) {
+				layer.addObserver(observer);
+			}
+			rebuild();
+		}
+	}
+	
+	/**
+	 * A method used to return the value of a key in the layer with the highest precedence that
+	 * defines it. If no layer defines the key, this method will return null.
+	 *
+	 * @param key The target key.
+	 * @return Resolved value
+	 * @since 1.3.0
+	 */
+	public String getProperty(String key)    { return resolved.get(key);           }
+	
+	/**
+	 * A method used to return the value of a key in the layer with the highest precedence that
+	 * defines it. If no layer defines the key, the default value is returned instead.
+	 *
+	 * @param key The target key.
+	 * @param defaultValue The default value.
+	 * @return Resolved value
+	 * @since 1.3.0
+	 */
+	public String getProperty(String key, Object defaultValue)
+	{
+		String value = resolved.get(key);
+		return value != null ? value : String.valueOf(defaultValue);
+	}
+	
+	/**
+	 * A method used to test whether any layer defines a key.
+	 *
+	 * @param key The target key.
+	 * @return Whether the key is defined
+	 * @since 1.3.0
+	 */
+	public boolean containsKey(Object key)   { return resolved.containsKey(key);   }
+	
+	/**
+	 * A method used to return every key defined by any layer.
+	 *
+	 * @return Set of string property names
+	 * @since 1.3.0
+	 */
+	public Set<String> stringPropertyNames() { return Collections.unmodifiableSet(new LinkedHashSet<>(resolved.keySet())); }
+	
+	/**
+	 * A method used to return the amount of keys defined by any layer.
+	 *
+	 * @return Amount of resolved keys
+	 * @since 1.3.0
+	 */
+	public int size()                        { return resolved.size();             }
+	
+	/**
+	 * A method used to return the layers of this list, from the lowest to the highest precedence.
+	 *
+	 * @return Unmodifiable list of layers
+	 * @since 1.3.0
+	 */
+	public List<Properties> getLayers()      { return layers;                      }
+	
+	/**
+	 * A method used to stop following changes of the layers, the resolved values are no longer
+	 * updated once this list is closed.
+	 *
+	 * @since 1.3.0
+	 */
+	@Override
+	public void close()
+	{
+		for (Properties layer : layers) {
+			layer.removeObserver(observer);
+		}
+	}
+	
+	/**
+	 * A method called after a layer changed, it resolves the changed key again or every key if the
+	 * whole layer may have changed.
+	 *
+	 * @param key Changed key, or null if every entry may have changed
+	 * @since 1.3.0
+	 */
+	private synchronized void changed(String key)
+	{
+		if (key == null) {
+			rebuild();
+			return;
+		}
+		
+		for (int i = layers.size() - 1; i >= 0; i--) {
+			String value = layers.get(i).getProperty(key);
+			
+			if (value != null) {
+				resolved.put(key, value);
+				return;
+			}
+		}
+		resolved.remove(key);
+	}
+	
+	/**
+	 * A method used to resolve every key again. The new values are collected in a new map which then
+	 * replaces the current one, readers never see a partially resolved list.
+	 *
+	 * @since 1.3.0
+	 */
+	private synchronized void rebuild()
+	{
+		Map<String, String> replacement = new ConcurrentHashMap<>();
+		
+		for (Properties layer : layers) {
+			layer.copyTo(replacement);
+		}
+		resolved = replacement;
+	}
+}
@@ -0,0 +1,421 @@
+package com.frostdeveloper.api.core;
+
+import com.frostdeveloper.api.handler.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * <p>
+ * The MappedFile class is designed to read large files through memory mapping, the file is mapped in
+ * chunks so files larger than 2 GB can be read and the content is never copied onto the heap unless
+ * a record crosses the border between two chunks.
+ * <p/>
+ *
+ * @apiNote The mappings are released as soon as this file is closed, any buffer returned by this class
+ * must not be used after {@link #close()} has been called.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class MappedFile implements Closeable
+{
+	/**
+	 * The default size of each mapped chunk.
+	 *
+	 * @since 1.3.0
+	 */
+	public static final long DEFAULT_CHUNK_SIZE = 1L << 30;
+	
+	// CLASS OBJECTS
+	private static final Unmapper UNMAPPER = Unmapper.create();
+	
+	private final FileChannel channel;
+	private final AtomicReferenceArray<MappedByteBuffer> chunks;
+	private final long size;
+	private final long chunkSize;
+	private volatile boolean closed;
+	
+	/**
+	 * Creates a new mapped file using the default chunk size.
+	 *
+	 * @param file Target file
+	 * @throws IOException If the file could not be opened
+	 * @since 1.3.0
+	 */
+	public MappedFile(@NotNull File file) throws IOException  { this(file.toPath(), DEFAULT_CHUNK_SIZE); }
+	
+	/**
+	 * Creates a new mapped file using a specific chunk size.
+	 *
+	 * @param path Target file
+	 * @param chunkSize Size of each mapped chunk, at most {@link Integer#MAX_VALUE}
+	 * @throws IOException If the file could not be opened
+	 * @since 1.3.0
+	 */
+	public MappedFile(@NotNull Path path, long chunkSize) throws IOException
+	{
+		Validate.isTrue(chunkSize > 0 && chunkSize <= Integer.MAX_VALUE, "The chunk size must be between 1 and " + Integer.MAX_VALUE);
+		
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		this.size = channel.size();
+		this.chunkSize = chunkSize;
+		this.chunks = new AtomicReferenceArray<>((int) ((size + chunkSize - 1) / chunkSize));
+	}
+	
+	/**
+	 * A method used to return the size of the mapped file.
+	 *
+	 * @return File size in bytes
+	 * @since 1.3.0
+	 */
+	public long size()                                       { return size;                          }
+	
+	/**
+	 * A method used to return the amount of chunks this file is split in.
+	 *
+	 * @return Chunk count
+	 * @since 1.3.0
+	 */
+	public int getChunkCount()                               { return chunks.length();                 }
+	
+	/**
+	 * A method used to return a read-only view of a chunk, the chunk is mapped the first time it is requested.
+	 *
+	 * @param index Chunk index
+	 * @return Chunk content
+	 * @since 1.3.0
+	 */
+	public ByteBuffer getChunk(int index)                    { return chunk(index).duplicate();      }
+	
+	/**
+	 * A method used to read a single byte at an absolute position.
+	 *
+	 * @param position Byte position
+	 * @return Byte value
+	 * @since 1.3.0
+	 */
+	public byte get(long position)
+	{
+		if (position < 0 || position >= size) {
+			throw new IndexOutOfBoundsException("Position " + position + " is outside of the file");
+		}
+		return chunk((int) (position / chunkSize)).get((int) (position % chunkSize));
+	}
+	
+	/**
+	 * A method used to return the mapping of a chunk. A chunk that is already mapped is returned without
+	 * locking, so reading byte by byte never takes a monitor.
+	 *
+	 * @param index Chunk index
+	 * @return Mapped chunk
+	 * @since 1.3.0
+	 */
+	private MappedByteBuffer chunk(int index)
+	{
+		MappedByteBuffer chunk = chunks.get(index);
+		return chunk != null && !closed ? chunk : map(index);
+	}
+	
+	/**
+	 * A method used to map a chunk, unless another thread mapped it first.
+	 *
+	 * @param index Chunk index
+	 * @return Mapped chunk
+	 * @since 1.3.0
+	 */
+	private synchronized MappedByteBuffer map(int index)
+	{
+		Validate.isFalse(closed, "This mapped file has been closed");
+		
+		MappedByteBuffer chunk = chunks.get(index);
+		if (chunk == null) {
+			long position = index * chunkSize;
+			try {
+				chunk = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(chunkSize, size - position));
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException("Failed to map chunk " + index, ex);
+			}
+			chunks.set(index, chunk);
+		}
+		return chunk;
+	}
+	
+	/**
+	 * A method used to iterate through the records of this file, a record ends at the delimiter and
+	 * the delimiter is not included in the returned buffer. Records are returned as views of the mapped
+	 * content, only records crossing a chunk border are copied.
+	 *
+	 * @param delimiter Record delimiter
+	 * @return Record iterator
+	 * @since 1.3.0
+	 */
+	public Iterator<ByteBuffer> records(byte delimiter)      { return new RecordIterator(delimiter); }
+	
+	/**
+	 * A method used to iterate through the lines of this file, decoded as UTF-8.
+	 *
+	 * @see #lines(Charset)
+	 *
+	 * @return Line iterator
+	 * @since 1.3.0
+	 */
+	public Iterator<String> lines()                          { return lines(StandardCharsets.UTF_8); }
+	
+	/**
+	 * A method used to iterate through the lines of this file. Lines may end with "\n" or "\r\n".
+	 *
+	 * @param charset File charset
+	 * @return Line iterator
+	 * @since 1.3.0
+	 */
+	public Iterator<String> lines(@NotNull Charset charset)
+	{
+		Iterator<ByteBuffer> records = records((byte) '\n');
+		
+		return new Iterator<String>() {
+			@Override public boolean hasNext() { return records.hasNext(); }
+			
+			@Override public String next()
+			{
+				ByteBuffer record = records.next();
+				
+				if (record.hasRemaining() && record.get(record.limit() - 1) == '\r') {
+					record.limit(record.limit() - 1);
+				}
+				return charset.decode(record).toString();
+			}
+		};
+	}
+	
+	/**
+	 * A method used to perform an action for every line of this file, decoded as UTF-8.
+	 *
+	 * @param action Line action
+	 * @since 1.3.0
+	 */
+	public void forEachLine(@NotNull Consumer<String> action)
+	{
+		lines().forEachRemaining(action);
+	}
+	
+	/**
+	 * A method used to release every mapping and close the underlying channel.
+	 *
+	 * @throws IOException If the channel could not be closed
+	 * @since 1.3.0
+	 */
+	@Override
+	public synchronized void close() throws IOException
+	{
+		if (closed) {
+			return;
+		}
+		closed = true;
+		
+		for (int i = 0; i < chunks.length(); i++) {
+			MappedByteBuffer chunk = chunks.getAndSet(i, null);
+			if (chunk != null) {
+				unmap(chunk);
+			}
+		}
+		channel.close();
+	}
+	
+	/**
+	 * A class used to walk through the records of the mapped file.
+	 *
+	 * @since 1.3.0
+	 */
+	private final class RecordIterator implements Iterator<ByteBuffer>
+	{
+		private final byte delimiter;
+		private int index;
+		private int position;
+		private ByteBuffer spill;
+		
+		private RecordIterator(byte delimiter) { this.delimiter = delimiter; }
+		
+		@Override
+		public boolean hasNext()
+		{
+			return index < chunks.length() && (index < chunks.length() - 1 || position < chunk(index).limit());
+		}
+		
+		@Override
+		public ByteBuffer next()
+		{
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			
+			spill = null;
+			
+			while (index < chunks.length()) {
+				ByteBuffer current = chunk(index);
+				int limit = current.limit();
+				
+				for (int i = position; i < limit; i++) {
+					if (current.get(i) == delimiter) {
+						ByteBuffer record = slice(current, position, i);
+						position = i + 1;
+						return spill != null ? complete(record) : record;
+					}
+				}
+				
+				ByteBuffer rest = slice(current, position, limit);
+				index++;
+				position = 0;
+				
+				if (index == chunks.length()) {
+					return spill != null ? complete(rest) : rest;
+				}
+				append(rest);
+			}
+			throw new NoSuchElementException();
+		}
+		
+		/**
+		 * A method used to return a read-only view of part of a chunk.
+		 *
+		 * @param chunk Target chunk
+		 * @param from Start position, inclusive
+		 * @param to End position, exclusive
+		 * @return Chunk view
+		 * @since 1.3.0
+		 */
+		private ByteBuffer slice(ByteBuffer chunk, int from, int to)
+		{
+			ByteBuffer view = chunk.asReadOnlyBuffer();
+			view.limit(to).position(from);
+			return view.slice();
+		}
+		
+		/**
+		 * A method used to append the last part of a record to the spill buffer and return the
+		 * complete record.
+		 *
+		 * @param part Last record part
+		 * @return Complete record
+		 * @since 1.3.0
+		 */
+		private ByteBuffer complete(ByteBuffer part)
+		{
+			append(part);
+			spill.flip();
+			return spill;
+		}
+		
+		/**
+		 * A method used to copy part of a record into the spill buffer, growing it when needed.
+		 *
+		 * @param part Record part
+		 * @since 1.3.0
+		 */
+		private void append(ByteBuffer part)
+		{
+			if (spill == null || spill.remaining() < part.remaining()) {
+				ByteBuffer grown = ByteBuffer.allocate(Math.max(8192, (spill == null ? 0 : spill.position() + part.remaining()) * 2));
+				if (spill != null) {
+					spill.flip();
+					grown.put(spill);
+				}
+				spill = grown;
+			}
+			spill.put(part);
+		}
+	}
+	
+	/*
+	 * UNMAPPING
+	 */
+	
+	/**
+	 * A method used to release a mapping immediately instead of waiting for the garbage collector.
+	 *
+	 * @param buffer Mapped buffer
+	 * @since 1.3.0
+	 */
+	private static void unmap(MappedByteBuffer buffer)
+	{
+		if (UNMAPPER != null) {
+			try {
+				UNMAPPER.unmap(buffer);
+			}
+			catch (ReflectiveOperationException ignored) {
+				// THE MAPPING WILL BE RELEASED BY THE GARBAGE COLLECTOR
+			}
+		}
+	}
+	
+	/**
+	 * A functional interface used to release a mapping on the running JVM.
+	 *
+	 * @since 1.3.0
+	 */
+	@FunctionalInterface
+	private interface Unmapper
+	{
+		/**
+		 * A method used to release a mapping.
+		 *
+		 * @param buffer Mapped buffer
+		 * @throws ReflectiveOperationException If the mapping could not be released
+		 * @since 1.3.0
+		 */
+		void unmap(ByteBuffer buffer) throws ReflectiveOperationException;
+		
+		/**
+		 * A method used to look up the unmapping facility of the running JVM, {@code Unsafe#invokeCleaner}
+		 * on Java 9 and newer and the buffer's cleaner on Java 8. If neither is available, this method
+		 * will return null.
+		 *
+		 * @return JVM unmapper
+		 * @since 1.3.0
+		 */
+		static Unmapper create()
+		{
+			try {
+				Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+				Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+				Field field = unsafeClass.getDeclaredField("theUnsafe");
+				field.setAccessible(true);
+				Object unsafe = field.get(null);
+				return buffer -> invokeCleaner.invoke(unsafe, buffer);
+			}
+			catch (ReflectiveOperationException | RuntimeException ignored) {
+				// NOT RUNNING ON JAVA 9 OR NEWER
+			}
+			
+			try {
+				Method cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+				Method cleanMethod = Class.forName("sun.misc.Cleaner").getMethod("clean");
+				return buffer -> {
+					Object cleaner = cleanerMethod.invoke(buffer);
+					if (cleaner != null) {
+						cleanMethod.invoke(cleaner);
+					}
+				};
+			}
+			catch (ReflectiveOperationException | RuntimeException ignored) {
+				return null;
+			}
+		}
+	}
+}
@@ -1,10 +1,27 @@
 package com.frostdeveloper.api.core;
 
+import com.frostdeveloper.api.FrostAPI;
+import com.frostdeveloper.api.exception.FailedMethodException;
+import com.frostdeveloper.api.handler.AsyncHandler;
+import com.frostdeveloper.api.handler.FileWatcher;
+import com.frostdeveloper.api.handler.Validate;
+import com.frostdeveloper.api.utility.FileTransfer;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
 
 /**
  * <p>
@@ -13,16 +30,153 @@ import java.util.stream.Collectors;
  * <p/>
  *
  * @apiNote By default, this class does not order any properties added to the Hashtable.<br><br/>
- * To order, remember to add a boolean value to the class constructor.
+ * To order, remember to add a boolean value to the class constructor. Lists read by many threads
+ * should use {@link Storage#CONCURRENT}, large lists kept in memory should use {@link Storage#COMPACT}.
  *
  * @author OMGitzFROST
  * @since 1.0.0
  */
 public class Properties
 {
+	/**
+	 * The structure used to hold the entries of a property list.
+	 *
+	 * @since 1.3.0
+	 */
+	public enum Storage
+	{
+		/**
+		 * Entries are held in a {@link Hashtable}, every read and write takes the same lock.
+		 */
+		HASHED,
+		
+		/**
+		 * Entries are held in a {@link ConcurrentSkipListMap}, keys are kept in alphabetical order.
+		 */
+		ORDERED,
+		
+		/**
+		 * Entries are held in a {@link ConcurrentHashMap}, reads never lock and writes only lock a
+		 * single bin, which suits lists that are read by many threads.
+		 */
+		CONCURRENT,
+		
+		/**
+		 * Entries are held in a compact open addressing table without an object per entry, keys are
+		 * stored as ISO 8859-1 bytes when possible and repeated values share a single instance across
+		 * every compact list. Reads never lock, which suits large lists kept in memory for a long time.
+		 * No sorted key index is kept either, so {@link Properties#keysWithPrefix(String)} scans the
+		 * whole table every time a view is read.
+		 */
+		COMPACT;
+		
+		/**
+		 * A method used to create an empty map of this storage type.
+		 *
+		 * @return Empty entry map
+		 * @since 1.3.0
+		 */
+		private Map<String, String> create()
+		{
+			switch (this) {
+				case ORDERED:
+					return new ConcurrentSkipListMap<>();
+				case CONCURRENT:
+					return new ConcurrentHashMap<>();
+				case COMPACT:
+					return new CompactStringMap();
+				default:
+					return new Hashtable<>();
+			}
+		}
+		
+		/**
+		 * A method used to copy a map into a new map of this storage type.
+		 *
+		 * @param source Source map, of this storage type
+		 * @return Copied entry map
+		 * @since 1.3.0
+		 */
+		@SuppressWarnings("unchecked")
+		private Map<String, String> copy(Map<String, String> source)
+		{
+			switch (this) {
+				case ORDERED:
+					return new ConcurrentSkipListMap<>((SortedMap<String, String>) source);
+				case CONCURRENT:
+					return new ConcurrentHashMap<>(source);
+				case COMPACT:
+					return new CompactStringMap(source);
+				default:
+					return new Hashtable<>(source);
+			}
+		}
+		
+		/**
+		 * A method used to return the approximate heap memory taken by the structure of a single entry,
+		 * not counting its key and value.
+		 *
+		 * @return Estimated size in bytes
+		 * @since 1.3.0
+		 */
+		private int entryOverhead()
+		{
+			switch (this) {
+				case ORDERED:
+					return 30;
+				default:
+					return 38;
+			}
+		}
+	}
+	
+	/**
+	 * A functional interface used to receive the changes of a property list in batches.
+	 *
+	 * @since 1.3.0
+	 */
+	@FunctionalInterface
+	public interface ChangeListener
+	{
+		/**
+		 * A method called with every key that changed since the previous batch, current values are
+		 * read from the list itself. A batch only holds keys matching the prefix of the listener.
+		 *
+		 * @param keys Changed keys, never empty
+		 * @since 1.3.0
+		 */
+		void onChange(@NotNull Set<String> keys);
+	}
+	
 	// CLASS OBJECTS
-	private final java.util.Properties prop;
-	private boolean ordered;
+	private volatile State state;
+	private final Storage storage;
+	private final Map<String, Parsed> parsed = new ConcurrentHashMap<>();
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final long RELOAD_DELAY = 50;
+	private static final long JOURNAL_LIMIT = 1024 * 1024;
+	
+	private final AtomicLong version = new AtomicLong();
+	private Path storedPath;
+	private long storedDigest;
+	private long storedChecksum;
+	private long storedSize;
+	private long storedModified;
+	private long storedVersion = -1;
+	private String storedComment;
+	private boolean storedByLoad;
+	private volatile WriteBehind writeBehind;
+	private volatile Reload reload;
+	private volatile boolean snapshotted;
+	private volatile boolean timestamped = true;
+	private PropertiesWriter writer;
+	private volatile PropertiesJournal journal;
+	private volatile String journalComment;
+	private final AtomicBoolean compacting = new AtomicBoolean();
+	private final List<Consumer<String>> observers = new CopyOnWriteArrayList<>();
+	private final Dispatcher dispatcher = new Dispatcher();
+	private final Object writeLock = new Object();
 	
 	/**
 	 * Creates a new property list with no default values.
@@ -32,34 +186,33 @@ public class Properties
 	 *
 	 * @since 1.0.0
 	 */
-	public Properties()                      { prop = new java.util.Properties();  }
+	public Properties()                      { this(false);                        }
 	
 	/**
 	 * Creates a new property list with no default values.
 	 *
-	 * @implNote If true, Properties are added in alphabetical order.
+	 * @implNote If true, Properties are added in alphabetical order. An ordered list is held in a
+	 * sorted skip list, so iterating or storing it never has to sort its keys.
 	 *
 	 * @param ordered Determines whether the property list should be ordered alphabetically.
 	 * @since 1.0.0
 	 */
-	public Properties(boolean ordered)
+	public Properties(boolean ordered)       { this(ordered ? Storage.ORDERED : Storage.HASHED); }
+	
+	/**
+	 * Creates a new property list with no default values, held in a specific storage type.
+	 *
+	 * @see Storage
+	 *
+	 * @param storage Storage type
+	 * @since 1.3.0
+	 */
+	public Properties(@NotNull Storage storage)
 	{
-		this.ordered = ordered;
+		Validate.notNull(storage, "The storage type cannot be null!");
 		
-		if (ordered) {
-			prop = new java.util.Properties() {
-				@Override public synchronized Set<Map.Entry<Object, Object>> entrySet() {
-					return Collections.synchronizedSet(
-							super.entrySet()
-									.stream()
-									.sorted(Comparator.comparing(e -> e.getKey().toString()))
-									.collect(Collectors.toCollection(LinkedHashSet::new)));
-				}
-			};
-		}
-		else {
-			prop = new java.util.Properties();
-		}
+		this.storage = storage;
+		this.state = new State(storage.create(), null);
 	}
 	
 	/**
@@ -72,16 +225,20 @@ public class Properties
 	 * @throws ClassCastException if this {@code Properties} object contains any keys or values that are not {@code Strings}.
 	 * @throws NullPointerException if {@code out} is null.
 	 *
+	 * @apiNote If the file already holds the same list and comment, it is not rewritten. The timestamp
+	 * written below the comment is ignored when comparing. If the list did not change since it was last
+	 * stored to or loaded from the file, this method does nothing.
+	 *
+	 * @implNote The file is replaced atomically, a crash while storing leaves the previous file intact.
+	 *
 	 * @param targetFile Storing location.
 	 * @param comment A description of the property list.
 	 * @since 1.0.0
 	 */
 	public void store(@NotNull File targetFile, String comment)
 	{
-		try(FileOutputStream outputStream = new FileOutputStream(targetFile)) {
-			if (targetFile.getParentFile().exists() || targetFile.getParentFile().mkdirs()) {
-				prop.store(outputStream, comment);
-			}
+		try {
+			write(targetFile, comment);
 		}
 		catch (IOException ex) {
 			ex.printStackTrace();
@@ -101,191 +258,2411 @@ public class Properties
 	 * @param targetFile Storing location.
 	 * @since 1.0.0
 	 */
-	public void store(@NotNull File targetFile)
+	public void store(@NotNull File targetFile)              { store(targetFile, null);                }
+	
+	/**
+	 * A method used to write our properties list without blocking the calling thread, the
+	 * list is written on the executor of {@link AsyncHandler}.
+	 *
+	 * @see #store(File)
+	 *
+	 * @param targetFile Storing location.
+	 * @return A future completed once the list is written, or completed exceptionally if it failed
+	 * @since 1.3.0
+	 */
+	public CompletableFuture<Void> storeAsync(@NotNull File targetFile) { return storeAsync(targetFile, null); }
+	
+	/**
+	 * A method used to write our properties list without blocking the calling thread, the
+	 * list is written on the executor of {@link AsyncHandler}.
+	 *
+	 * @see #store(File, String)
+	 *
+	 * @param targetFile Storing location.
+	 * @param comment A description of the property list.
+	 * @return A future completed once the list is written, or completed exceptionally if it failed
+	 * @since 1.3.0
+	 */
+	public CompletableFuture<Void> storeAsync(@NotNull File targetFile, String comment)
 	{
-		if (targetFile.getParentFile().exists() || targetFile.getParentFile().mkdirs()) {
-			try (FileOutputStream outputStream = new FileOutputStream(targetFile)) {
-				prop.store(outputStream, null);
-			}
-			catch(IOException ex) {
-				ex.printStackTrace();
-			}
-		}
+		return AsyncHandler.supply(() -> {
+			write(targetFile, comment);
+			return null;
+		});
 	}
 	
 	/**
-	 * A method used to read a property list (keys and element pairs). The input stream is
-	 * closed by this method after it returns.
+	 * A method used to write our properties list to a file.
 	 *
-	 * @throws IllegalArgumentException if the input stream contains a malformed Unicode escape sequence.
-	 * @throws NullPointerException if {@code inStream} is null.
+	 * @see #write(Path, String, Map, long)
 	 *
-	 * @param targetFile File being read.
-	 * @since 1.0.0
+	 * @param targetFile Storing location.
+	 * @param comment A description of the property list.
+	 * @throws IOException If the file could not be written
+	 * @since 1.3.0
 	 */
-	public void load(@NotNull File targetFile)
+	private void write(@NotNull File targetFile, String comment) throws IOException
+	{
+		long current = version.get();
+		write(targetFile.toPath().toAbsolutePath(), comment, state.entries, current);
+	}
+	
+	/**
+	 * A method used to write a properties list to a file, creating its parent directories if needed.
+	 * The list is written to a temporary file, flushed to the storage device and then renamed over the
+	 * target, so a crash can never leave a partially written file behind.
+	 * <br><br/>
+	 * If the list did not change since it was last stored to or loaded from the file, and the file was
+	 * not modified since, nothing is rendered or written. Otherwise, the file is left untouched if it
+	 * already holds the same list. When snapshots are enabled, a missing or outdated snapshot is
+	 * written after the file, and both are rendered from a copy of the entries taken under the write
+	 * lock so the snapshot always holds the same list as the file.
+	 *
+	 * @param target Storing location.
+	 * @param comment A description of the property list.
+	 * @param snapshot Entries to write, our entries or a copy of them
+	 * @param current Version of this list held by the entries
+	 * @throws IOException If the file could not be written
+	 * @since 1.3.0
+	 */
+	private synchronized void write(Path target, String comment, Map<String, String> snapshot, long current) throws IOException
 	{
+		boolean snapshotting = snapshotted;
+		
+		if (isClean(target, current, comment) && (!snapshotting || PropertiesSnapshot.isCurrent(target, Files.readAttributes(target, BasicFileAttributes.class)))) {
+			return;
+		}
+		
+		// THE TEXT AND THE SNAPSHOT ARE RENDERED IN TWO PASSES, ONLY A HASHTABLE IS LOCKED AGAINST CHANGES
+		// BETWEEN THEM, SO BOTH ARE RENDERED FROM A SINGLE COPY OF OUR ENTRIES
+		if (snapshotting && snapshot == state.entries) {
+			synchronized (writeLock) {
+				snapshot = storage.copy(state.entries);
+				current = version.get();
+			}
+		}
+		
+		if (writer == null) {
+			writer = new PropertiesWriter();
+		}
+		
+		boolean dated = timestamped;
+		byte[] binary = null;
+		
+		synchronized (snapshot) {
+			writer.write(snapshot, comment, dated);
+			
+			if (snapshotting) {
+				binary = PropertiesSnapshot.render(snapshot);
+			}
+		}
+		
+		byte[] content = writer.getBuffer();
+		int length = writer.getLength();
+		int dateLine = dated ? countLines(comment) : -1;
+		long digest;
+		long checksum;
+		
 		try {
-			FileInputStream inputStream = new FileInputStream(targetFile);
-			prop.load(inputStream);
+			digest = digest(content, length, dateLine);
+			
+			if (!isStored(target, content, length, digest, dateLine)) {
+				FileTransfer.writeAtomically(target, true, channel -> {
+					ByteBuffer source = ByteBuffer.wrap(content, 0, length);
+					while (source.hasRemaining()) {
+						channel.write(source);
+					}
+				});
+				checksum = digest(content, length, -1);
+			}
+			else {
+				// THE KEPT FILE MAY HOLD ANOTHER TIMESTAMP THAN THE RENDERED LIST
+				checksum = checksum(target);
+			}
 		}
-		catch (IOException ex) {
-			ex.printStackTrace();
+		finally {
+			writer.trim();
+		}
+		
+		BasicFileAttributes attributes = Files.readAttributes(target, BasicFileAttributes.class);
+		
+		if (binary != null && !PropertiesSnapshot.isCurrent(target, attributes)) {
+			try {
+				PropertiesSnapshot.write(target, attributes, binary);
+			}
+			catch (IOException ignored) {
+				// THE SNAPSHOT IS ONLY A CACHE, THE FILE ITSELF WAS WRITTEN
+			}
 		}
+		remember(target, attributes, digest, checksum, current, comment, false);
 	}
 	
 	/**
-	 * A method used to read a property list (keys and element pairs). The input stream is
-	 * closed by this method after it returns.
+	 * A method used to test whether this list is unchanged since it was last stored to or loaded from
+	 * a file, and that file was not modified since.
 	 *
-	 * @throws IllegalArgumentException if the input stream contains a malformed Unicode escape sequence.
-	 * @throws NullPointerException if {@code inStream} is null.
+	 * @param target Storing location.
+	 * @param current Current version of this list
+	 * @param comment A description of the property list.
+	 * @return Whether storing the list can be skipped
+	 * @throws IOException If the file attributes could not be read
+	 * @since 1.3.0
+	 */
+	private boolean isClean(Path target, long current, String comment) throws IOException
+	{
+		if (current != storedVersion || !target.equals(storedPath) || !storedByLoad && !Objects.equals(comment, storedComment)) {
+			return false;
+		}
+		return isUnmodified(target);
+	}
+	
+	/**
+	 * A method used to test whether a file still has the size, modification time and content it had
+	 * when it was last stored to or loaded from.
 	 *
-	 * @param inputStream The input stream
-	 * @since 1.0.0
+	 * @implNote A file rewritten within the resolution of its modification time keeps the same size and
+	 * time, so once both match the checksum of the file is compared as well. The checksum is unknown for
+	 * a list loaded from a snapshot, only the size and time are then compared.
+	 *
+	 * @param target Storing location.
+	 * @return Whether the file is unmodified
+	 * @throws IOException If the file could not be read
+	 * @since 1.3.0
 	 */
-	public void load(InputStream inputStream)
+	private boolean isUnmodified(Path target) throws IOException
 	{
-		try {
-			prop.load(inputStream);
+		if (!target.equals(storedPath) || !Files.isRegularFile(target)) {
+			return false;
 		}
-		catch (IOException ex) {
-			ex.printStackTrace();
+		
+		BasicFileAttributes attributes = Files.readAttributes(target, BasicFileAttributes.class);
+		
+		if (attributes.size() != storedSize || attributes.lastModifiedTime().toMillis() != storedModified) {
+			return false;
 		}
+		return storedChecksum < 0 || checksum(target) == storedChecksum;
 	}
 	
 	/**
-	 * A method used to set a value to a property inside our property list if it
-	 * does not already exist.
-	 *
-	 * @apiNote By default, this method will not overwrite the key's current value.
-	 * To overwrite, use {@link #setProperty(String, Object, boolean)}
+	 * A method used to test whether a file already holds a rendered property list, apart from its
+	 * timestamp. The file is not read if it is unmodified since this list was last stored to it and
+	 * the checksums tell the lists apart.
 	 *
-	 * @see #setProperty(String, Object, boolean)
+	 * @implNote A checksum can only prove that two lists differ, a match is always confirmed by
+	 * comparing the file with the rendered list.
 	 *
-	 * @param key The target key.
-	 * @param value The desired value.
-	 * @since 1.0.0
+	 * @param target Storing location.
+	 * @param content Rendered list
+	 * @param length Length of the rendered list
+	 * @param digest Checksum of the rendered list, without its timestamp
+	 * @param dateLine Index of the timestamp line, or -1 if there is none
+	 * @return Whether the file holds the same list
+	 * @throws IOException If the file could not be read
+	 * @since 1.3.0
 	 */
-	public void setProperty(String key, Object value)
+	private boolean isStored(Path target, byte[] content, int length, long digest, int dateLine) throws IOException
 	{
-		if (getProperty(key) == null && !getProperty(key).equals(value)) {
-			prop.setProperty(key, String.valueOf(value));
+		if (!Files.isRegularFile(target)) {
+			return false;
+		}
+		
+		if (storedDigest >= 0 && digest != storedDigest && isUnmodified(target)) {
+			return false;
 		}
+		
+		byte[] stored = Files.readAllBytes(target);
+		
+		if (dateLine < 0) {
+			return regionEquals(stored, 0, stored.length, content, 0, length);
+		}
+		
+		// BOTH LISTS MATCH UP TO THE TIMESTAMP, SO IT STARTS AT THE SAME POSITION IN BOTH OF THEM
+		int start = lineStart(content, length, 0, dateLine);
+		
+		if (!regionEquals(stored, 0, Math.min(start, stored.length), content, 0, start)) {
+			return false;
+		}
+		return regionEquals(stored, lineStart(stored, stored.length, start, 1), stored.length, content, lineStart(content, length, start, 1), length);
 	}
 	
 	/**
-	 * A method used to set a value to a property inside our property list if it
-	 * does not already exist. If, the key already exists, you need to specify
-	 * whether this method should override its current value.
+	 * A method used to test whether two byte ranges hold the same bytes.
 	 *
-	 * @apiNote If you choose to not overwrite its value, nothing will happen to the
-	 * key's current value.
+	 * @param first First array
+	 * @param firstStart First range start, inclusive
+	 * @param firstEnd First range end, exclusive
+	 * @param second Second array
+	 * @param secondStart Second range start, inclusive
+	 * @param secondEnd Second range end, exclusive
+	 * @return Whether both ranges are equal
+	 * @since 1.3.0
+	 */
+	private static boolean regionEquals(byte[] first, int firstStart, int firstEnd, byte[] second, int secondStart, int secondEnd)
+	{
+		if (firstEnd - firstStart != secondEnd - secondStart) {
+			return false;
+		}
+		
+		for (int i = 0; i < firstEnd - firstStart; i++) {
+			if (first[firstStart + i] != second[secondStart + i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * A method used to remember the state of a file holding this property list.
 	 *
-	 * @see #setProperty(String, Object)
+	 * @param target Storing location.
+	 * @param attributes File attributes, read before the file was loaded or after it was stored
+	 * @param digest Checksum of the stored list without its timestamp, or -1 if unknown
+	 * @param checksum Checksum of the whole file, or -1 if unknown
+	 * @param current Version of this list held by the file
+	 * @param comment A description of the property list.
+	 * @param loaded Whether the file was loaded rather than stored
+	 * @since 1.3.0
+	 */
+	private synchronized void remember(Path target, BasicFileAttributes attributes, long digest, long checksum, long current, String comment, boolean loaded)
+	{
+		storedPath = target;
+		storedDigest = digest;
+		storedChecksum = checksum;
+		storedSize = attributes.size();
+		storedModified = attributes.lastModifiedTime().toMillis();
+		storedVersion = current;
+		storedComment = comment;
+		storedByLoad = loaded;
+	}
+	
+	/**
+	 * A method used to calculate the checksum of a rendered property list, skipping the timestamp line
+	 * written after the comment so that storing the same list twice produces the same checksum.
 	 *
-	 * @param key The target key.
-	 * @param value The desired value.
-	 * @param replace Enable overwriting.
-	 * @since 1.0.0
+	 * @param content Rendered list
+	 * @param length Length of the rendered list
+	 * @param dateLine Index of the timestamp line, or -1 if there is none
+	 * @return CRC-32 checksum
+	 * @since 1.3.0
 	 */
-	public void setProperty(String key, Object value, boolean replace)
+	private static long digest(byte[] content, int length, int dateLine)
 	{
-		if (getProperty(key) == null || replace && !getProperty(key).equals(String.valueOf(value))) {
-			prop.setProperty(key, String.valueOf(value));
+		CRC32 crc = new CRC32();
+		
+		if (dateLine < 0) {
+			crc.update(content, 0, length);
+			return crc.getValue();
 		}
+		
+		int start = lineStart(content, length, 0, dateLine);
+		int end = lineStart(content, length, start, 1);
+		
+		crc.update(content, 0, start);
+		crc.update(content, end, length - end);
+		return crc.getValue();
 	}
 	
 	/**
-	 * A method used to remove a property from a properties map. Keep in mind this property does not
-	 * save changes by default.
+	 * A method used to calculate the checksum of a whole file.
 	 *
-	 * @param key Target key
-	 * @since 1.0.0
+	 * @param target File location
+	 * @return CRC-32 checksum
+	 * @throws IOException If the file could not be read
+	 * @since 1.3.0
 	 */
-	public void removeProperty(String key)
+	private static long checksum(Path target) throws IOException
 	{
-		if (getProperty(key) != null) {
-			prop.remove(key);
+		try (CheckedInputStream inputStream = new CheckedInputStream(Files.newInputStream(target), new CRC32())) {
+			byte[] buffer = new byte[8192];
+			
+			while (inputStream.read(buffer) != -1) {
+				// THE STREAM UPDATES THE CHECKSUM WHILE IT IS READ
+			}
+			return inputStream.getChecksum().getValue();
 		}
 	}
 	
 	/**
-	 * A method used to search for a specific property key inside our property list, If the
-	 * key is not found, this method will return null
-	 *
-	 * @apiNote To avoid return the default value, remember to load a property file using {@link #load(File)}
-	 * or load from an input stream using {@link #load(InputStream)}.
-	 *
-	 * @see #setProperty(String, Object)
-	 * @see #setProperty(String, Object, boolean)
+	 * A method used to find the position of a line, counting from a starting position.
 	 *
-	 * @param key The target key.
-	 * @return The value in the property list.
-	 * @since 1.0.0
+	 * @param content Rendered list
+	 * @param length Length of the rendered list
+	 * @param from Starting position
+	 * @param lines Amount of lines to skip
+	 * @return Line position, or the content length if there are not enough lines
+	 * @since 1.3.0
 	 */
-	public String getProperty(String key)    { return prop.getProperty(key);       }
+	private static int lineStart(byte[] content, int length, int from, int lines)
+	{
+		int position = from;
+		
+		while (lines > 0 && position < length) {
+			if (content[position++] == '\n') {
+				lines--;
+			}
+		}
+		return position;
+	}
 	
 	/**
-	 * A method used to search for a specific property key inside our property list, If the
-	 * key is not found, this method will return the specified default property value.
+	 * A method used to count the lines a comment takes once stored, line breaks are handled the same
+	 * way {@link java.util.Properties#store(OutputStream, String)} handles them.
 	 *
-	 * @apiNote To avoid return the default value, remember to load a property file using {@link #load(File)}
-	 * or load from an input stream using {@link #load(InputStream)}.
+	 * @param comment Property list comment
+	 * @return Amount of comment lines
+	 * @since 1.3.0
+	 */
+	private static int countLines(String comment)
+	{
+		if (comment == null) {
+			return 0;
+		}
+		
+		int lines = 1;
+		
+		for (int i = 0; i < comment.length(); i++) {
+			char current = comment.charAt(i);
+			
+			if (current == '\n' || current == '\r') {
+				lines++;
+				
+				if (current == '\r' && i + 1 < comment.length() && comment.charAt(i + 1) == '\n') {
+					i++;
+				}
+			}
+		}
+		return lines;
+	}
+	
+	/**
+	 * A method used to store this list in the background whenever it changes. Bursts of changes are
+	 * coalesced into a single store, which happens once no change was made for the quiet period, or
+	 * once the oldest pending change reaches the maximum delay, whichever comes first.
+	 * <br><br/>
+	 * Pending changes are also stored when {@link #flush()} is called, when write-behind is disabled
+	 * and when the JVM shuts down.
 	 *
-	 * @see #setProperty(String, Object)
-	 * @see #setProperty(String, Object, boolean)
+	 * @apiNote Enabling write-behind again replaces the previous target, after flushing its pending changes.
 	 *
-	 * @param key The target key.
-	 * @param defaultValue A default value.
-	 * @return The value in the property list.
-	 * @since 1.0.0
+	 * @param targetFile Storing location.
+	 * @param comment A description of the property list.
+	 * @param quietPeriod Time without changes after which the list is stored
+	 * @param maxDelay Maximum time a change may stay pending
+	 * @param unit Time unit of both delays
+	 * @since 1.3.0
 	 */
-	public String getProperty(String key, Object defaultValue)
+	public void enableWriteBehind(@NotNull File targetFile, String comment, long quietPeriod, long maxDelay, @NotNull TimeUnit unit)
 	{
-		return prop.getProperty(key, String.valueOf(defaultValue));
+		Validate.notNull(targetFile, "The target file cannot be null!");
+		Validate.notNull(unit, "The time unit cannot be null!");
+		Validate.isTrue(quietPeriod >= 0, "The quiet period cannot be negative");
+		Validate.isTrue(maxDelay >= quietPeriod, "The maximum delay cannot be shorter than the quiet period");
+		
+		WriteBehind replacement = new WriteBehind(targetFile, comment, unit.toNanos(quietPeriod), unit.toNanos(maxDelay));
+		
+		synchronized (this) {
+			disableWriteBehind();
+			Runtime.getRuntime().addShutdownHook(replacement.hook);
+			writeBehind = replacement;
+		}
+		
+		if (version.get() != storedVersion) {
+			replacement.changed();
+		}
 	}
 	
 	/**
-	 * Returns {@code true} if this map contains no key-value mappings.
+	 * A method used to store this list in the background whenever it changes, without a comment.
 	 *
-	 * @return {@code true} if this map contains no key-value mappings
-	 * @since 1.0.0
+	 * @see #enableWriteBehind(File, String, long, long, TimeUnit)
+	 *
+	 * @param targetFile Storing location.
+	 * @param quietPeriod Time without changes after which the list is stored
+	 * @param maxDelay Maximum time a change may stay pending
+	 * @param unit Time unit of both delays
+	 * @since 1.3.0
 	 */
-	public boolean isEmpty()                 { return prop.isEmpty();              }
+	public void enableWriteBehind(@NotNull File targetFile, long quietPeriod, long maxDelay, @NotNull TimeUnit unit)
+	{
+		enableWriteBehind(targetFile, null, quietPeriod, maxDelay, unit);
+	}
 	
 	/**
-	 * A method used to return whether a properties are to be in alphabetical order.
+	 * A method used to stop storing this list in the background, pending changes are stored before
+	 * this method returns.
 	 *
-	 * @return Whether in alphabetical order.
-	 * @since 1.0.0
+	 * @since 1.3.0
 	 */
-	public boolean isOrdered()               { return ordered;                     }
+	public synchronized void disableWriteBehind()
+	{
+		WriteBehind current = writeBehind;
+		
+		if (current != null) {
+			writeBehind = null;
+			current.cancel();
+			
+			try {
+				Runtime.getRuntime().removeShutdownHook(current.hook);
+			}
+			catch (IllegalStateException ignored) {
+				// THE JVM IS ALREADY SHUTTING DOWN
+			}
+			current.flush();
+		}
+	}
 	
 	/**
-	 * Tests if the specified object is a key in this table.
+	 * A method used to return whether this list is stored in the background whenever it changes.
 	 *
-	 * @param  key possible key
-	 * @return {@code true} if and only if the specified object
-	 *         is a key in this table, as determined by the
-	 *         {@code equals} method; {@code false} otherwise
-	 * @throws NullPointerException if the specified key is null
-	 * @since 1.0.0
+	 * @return Whether write-behind is enabled
+	 * @since 1.3.0
 	 */
-	public boolean containsKey(Object key)   { return prop.containsKey(key);       }
+	public boolean isWriteBehind()           { return writeBehind != null;         }
 	
 	/**
-	 * A method used to return a set of string property names for a property map.
+	 * A method used to store pending changes immediately when write-behind is enabled, if write-behind
+	 * is disabled, this method does nothing.
 	 *
-	 * @return Set of string property names
-	 * @since 1.0.0
+	 * @see #enableWriteBehind(File, String, long, long, TimeUnit)
+	 *
+	 * @since 1.3.0
 	 */
-	public Set<String> stringPropertyNames() { return prop.stringPropertyNames();  }
+	public void flush()
+	{
+		WriteBehind current = writeBehind;
+		
+		if (current != null) {
+			current.flush();
+		}
+	}
 	
 	/**
-	 * Removes all the mappings from this map.
+	 * A method used to append every change of this list to a journal next to a file, named after the
+	 * file with {@code .journal} appended. A change is flushed to the storage device before the method
+	 * making it returns, changes made by several threads at once share a single flush, so changes are
+	 * durable at the cost of appending a small record rather than storing the whole list.
+	 * <br><br/>
+	 * A journal left by a previous run is replayed on top of this list when journaling is enabled,
+	 * and loading the file replays its journal on top of its content. Once the journal grows large, the
+	 * list is stored to the file in the background and the journal is emptied. Loading any other file
+	 * or stream stores the whole list to the file right away instead of appending every loaded key.
 	 *
-	 * @since 1.0.0
+	 * @apiNote Enable journaling before loading the file, or load the file first and let this method
+	 * replay the journal on top of it. A reload of the file empties the journal, as changes made by
+	 * hand take precedence. If the journal cannot be written, the change waiting for it throws a
+	 * {@link FailedMethodException} and journaling is disabled, see {@link #isJournaled()}.
+	 *
+	 * @throws FailedMethodException If the journal could not be opened or replayed
+	 *
+	 * @param targetFile File the journal belongs to.
+	 * @param comment A description of the property list, used when the journal is compacted.
+	 * @since 1.3.0
 	 */
-	public void clear()                      { prop.clear();                       }
-}
\ No newline at end of file
+	public synchronized void enableJournal(@NotNull File targetFile, String comment)
+	{
+		Validate.notNull(targetFile, "The target file cannot be null!");
+		disableJournal();
+		
+		try {
+			PropertiesJournal replacement = new PropertiesJournal(targetFile.toPath().toAbsolutePath());
+			
+			synchronized (writeLock) {
+				Map<String, String> current = state.entries;
+				Map<String, String> replayed = storage.copy(current);
+				replacement.replay(replayed);
+				
+				Collection<String> keys = difference(current, replayed);
+				
+				if (!keys.isEmpty()) {
+					state = state.replace(replayed);
+					replaced(keys);
+				}
+				journalComment = comment;
+				journal = replacement;
+			}
+		}
+		catch (IOException ex) {
+			throw new FailedMethodException("Failed to open the journal of {0}", ex, targetFile);
+		}
+	}
+	
+	/**
+	 * A method used to append every change of this list to a journal next to a file.
+	 *
+	 * @see #enableJournal(File, String)
+	 *
+	 * @throws FailedMethodException If the journal could not be opened or replayed
+	 *
+	 * @param targetFile File the journal belongs to.
+	 * @since 1.3.0
+	 */
+	public void enableJournal(@NotNull File targetFile) { enableJournal(targetFile, null); }
+	
+	/**
+	 * A method used to stop appending changes to the journal, every change made so far is flushed
+	 * first. The journal file is kept and replayed the next time journaling is enabled.
+	 *
+	 * @since 1.3.0
+	 */
+	public synchronized void disableJournal()
+	{
+		PropertiesJournal current = journal;
+		
+		if (current != null) {
+			synchronized (writeLock) {
+				journal = null;
+			}
+			
+			try {
+				current.close();
+			}
+			catch (IOException ex) {
+				ex.printStackTrace();
+			}
+		}
+	}
+	
+	/**
+	 * A method used to return whether the changes of this list are appended to a journal.
+	 *
+	 * @return Whether journaling is enabled
+	 * @since 1.3.0
+	 */
+	public boolean isJournaled()             { return journal != null;             }
+	
+	/**
+	 * A method used to append changed keys to the journal along with their current values, the
+	 * caller must hold the write lock.
+	 *
+	 * @param keys Changed keys
+	 * @since 1.3.0
+	 */
+	private void journal(Collection<String> keys)
+	{
+		PropertiesJournal current = journal;
+		
+		if (current != null && keys != null) {
+			for (String key : keys) {
+				current.append(key, state.entries.get(key));
+			}
+		}
+	}
+	
+	/**
+	 * A method used to return the journal that a loaded property list must be compacted into. A loaded
+	 * list is not appended record by record, which would hold every loaded key in the journal buffer
+	 * and write the list twice, the caller compacts the returned journal once the lock is released.
+	 * The caller must hold the write lock.
+	 *
+	 * @param keys Changed keys
+	 * @return Journal to compact, or null if there is no journal or nothing changed
+	 * @since 1.3.0
+	 */
+	private PropertiesJournal bulk(Collection<String> keys)
+	{
+		return keys == null || keys.isEmpty() ? null : journal;
+	}
+	
+	/**
+	 * A method used to wait until every change appended to the journal is durable, compacting the
+	 * journal in the background once it grows large. The caller must not hold the write lock, so
+	 * that changes made by other threads can share the same flush.
+	 *
+	 * @throws FailedMethodException If the journal could not be written, journaling is then disabled
+	 * @since 1.3.0
+	 */
+	private void commit()
+	{
+		PropertiesJournal current = journal;
+		
+		if (current == null) {
+			return;
+		}
+		
+		try {
+			current.sync();
+		}
+		catch (IOException ex) {
+			fail(current, ex);
+		}
+		
+		if (current.size() >= JOURNAL_LIMIT && compacting.compareAndSet(false, true)) {
+			AsyncHandler.run(() -> {
+				try {
+					compact(current);
+				}
+				catch (IOException ex) {
+					ex.printStackTrace();
+				}
+				finally {
+					compacting.set(false);
+				}
+			});
+		}
+	}
+	
+	/**
+	 * A method used to disable a journal that could not be written and to report the failure, the
+	 * changes made since the last successful flush are kept in memory but are no longer durable.
+	 *
+	 * @param current Failed journal
+	 * @param cause Write failure
+	 * @throws FailedMethodException Always
+	 * @since 1.3.0
+	 */
+	private void fail(PropertiesJournal current, IOException cause)
+	{
+		synchronized (writeLock) {
+			if (journal == current) {
+				journal = null;
+			}
+		}
+		
+		try {
+			current.close();
+		}
+		catch (IOException ignored) {
+			// THE JOURNAL ALREADY FAILED, THE CAUSE IS REPORTED BELOW
+		}
+		throw new FailedMethodException("Failed to write the journal of {0}, journaling was disabled", cause, current.getSource());
+	}
+	
+	/**
+	 * A method used to store this list to the file of a journal and to remove every record the file
+	 * now holds from the journal. The entries are copied together with the journal position, so
+	 * changes made while the file is written stay in the journal.
+	 *
+	 * @param current Journal to compact
+	 * @throws IOException If the file or journal could not be written
+	 * @since 1.3.0
+	 */
+	private synchronized void compact(PropertiesJournal current) throws IOException
+	{
+		Map<String, String> copy;
+		long position;
+		long copied;
+		
+		synchronized (writeLock) {
+			if (journal != current) {
+				return;
+			}
+			copy = storage.copy(state.entries);
+			position = current.mark();
+			copied = version.get();
+		}
+		
+		write(current.getSource(), journalComment, copy, copied);
+		current.truncate(position);
+	}
+	
+	/**
+	 * A method used to keep a binary snapshot of this list next to every file it is stored to, named
+	 * after the file with {@code .snapshot} appended. Loading a file whose snapshot was taken from its
+	 * current content reads the snapshot through memory mapping instead of parsing the file.
+	 * <br><br/>
+	 * Loading a file without a current snapshot into an empty list writes a new snapshot, so the next
+	 * load of the same file is fast even if this list is never stored.
+	 *
+	 * @apiNote A snapshot is only used while the file keeps the size, modification time and checksum it
+	 * had when the snapshot was taken, editing the file by hand always takes precedence over its snapshot.
+	 * Comparing the checksum reads the file once, which is still far cheaper than parsing it.
+	 *
+	 * @param snapshotted Whether snapshots are written and read
+	 * @since 1.3.0
+	 */
+	public void setSnapshotted(boolean snapshotted) { this.snapshotted = snapshotted; }
+	
+	/**
+	 * A method used to return whether this list keeps a binary snapshot next to its files.
+	 *
+	 * @see #setSnapshotted(boolean)
+	 *
+	 * @return Whether snapshots are enabled
+	 * @since 1.3.0
+	 */
+	public boolean isSnapshotted()           { return snapshotted;                 }
+	
+	/**
+	 * A method used to choose whether a timestamp line is written after the comment when this list
+	 * is stored, as {@link java.util.Properties#store(OutputStream, String)} does. Without it, storing
+	 * the same list always produces the same file, so stored files can be compared by their content hash.
+	 *
+	 * @param timestamped Whether stored files start with a timestamp
+	 * @since 1.3.0
+	 */
+	public void setTimestamped(boolean timestamped) { this.timestamped = timestamped; }
+	
+	/**
+	 * A method used to return whether stored files start with a timestamp line.
+	 *
+	 * @see #setTimestamped(boolean)
+	 *
+	 * @return Whether timestamps are written
+	 * @since 1.3.0
+	 */
+	public boolean isTimestamped()           { return timestamped;                 }
+	
+	/**
+	 * A method used to read a property list (keys and element pairs). The input stream is
+	 * closed by this method after it returns.
+	 *
+	 * @throws IllegalArgumentException if the input stream contains a malformed Unicode escape sequence.
+	 * @throws NullPointerException if {@code inStream} is null.
+	 *
+	 * @param targetFile File being read.
+	 * @since 1.0.0
+	 */
+	public void load(@NotNull File targetFile)
+	{
+		try {
+			read(targetFile);
+		}
+		catch (IOException ex) {
+			ex.printStackTrace();
+		}
+	}
+	
+	/**
+	 * A method used to read a property list without blocking the calling thread, the list
+	 * is read on the executor of {@link AsyncHandler}.
+	 *
+	 * @see #load(File)
+	 *
+	 * @param targetFile File being read.
+	 * @return A future completed once the list is read, or completed exceptionally if it failed
+	 * @since 1.3.0
+	 */
+	public CompletableFuture<Void> loadAsync(@NotNull File targetFile)
+	{
+		return AsyncHandler.supply(() -> {
+			read(targetFile);
+			return null;
+		});
+	}
+	
+	/**
+	 * A method used to read the snapshot of a file, a snapshot that cannot be read is skipped.
+	 *
+	 * @param target Loading location.
+	 * @param attributes Current attributes of the file
+	 * @param loaded Target property list
+	 * @return Whether the snapshot was read
+	 * @since 1.3.0
+	 */
+	private static boolean readSnapshot(Path target, BasicFileAttributes attributes, Map<String, String> loaded)
+	{
+		try {
+			return PropertiesSnapshot.read(target, attributes, loaded);
+		}
+		catch (IOException ex) {
+			return false;
+		}
+	}
+	
+	/**
+	 * A method used to read a property list from a file, or from its snapshot if snapshots are enabled
+	 * and the snapshot is current.
+	 *
+	 * @param targetFile File being read.
+	 * @throws IOException If the file could not be read
+	 * @since 1.3.0
+	 */
+	private void read(@NotNull File targetFile) throws IOException
+	{
+		Path target = targetFile.toPath().toAbsolutePath();
+		BasicFileAttributes attributes = Files.readAttributes(target, BasicFileAttributes.class);
+		Map<String, String> loaded = new LinkedHashMap<>();
+		byte[] binary = null;
+		long checksum = -1;
+		
+		// THE FILE IS PARSED BEFORE TAKING THE WRITE LOCK, SO CHANGES ARE NOT BLOCKED WHILE IT IS READ
+		if (!snapshotted || !readSnapshot(target, attributes, loaded)) {
+			try (CheckedInputStream inputStream = new CheckedInputStream(new FileInputStream(targetFile), new CRC32())) {
+				new PropertiesParser(inputStream).parse(loaded);
+				checksum = inputStream.getChecksum().getValue();
+			}
+			
+			if (snapshotted && state.entries.isEmpty()) {
+				binary = PropertiesSnapshot.render(loaded);
+			}
+		}
+		
+		boolean empty;
+		long loadedVersion;
+		PropertiesJournal bulk;
+		
+		synchronized (writeLock) {
+			empty = state.entries.isEmpty();
+			
+			PropertiesJournal current = journal;
+			boolean journaled = current != null && current.getSource().equals(target);
+			
+			if (journaled) {
+				current.replay(loaded);
+			}
+			
+			Collection<String> keys = merge(loaded);
+			bulk = journaled ? null : bulk(keys);
+			replaced(keys);
+			
+			// CHANGES REPLAYED FROM THE JOURNAL ARE NOT IN THE FILE YET, SO THE FILE DOES NOT HOLD THIS VERSION
+			loadedVersion = journaled && current.size() > 0 ? -1 : version.get();
+		}
+		commit();
+		
+		if (bulk != null) {
+			compact(bulk);
+		}
+		
+		// ANOTHER LOAD MAY HAVE FILLED THE LIST WHILE THE FILE WAS PARSED, THE SNAPSHOT WOULD THEN BE INCOMPLETE
+		if (binary != null && empty) {
+			try {
+				PropertiesSnapshot.write(target, attributes, binary);
+			}
+			catch (IOException ignored) {
+				// THE SNAPSHOT IS ONLY A CACHE, THE FILE ITSELF WAS READ
+			}
+		}
+		
+		if (empty) {
+			remember(target, attributes, -1, checksum, loadedVersion, null, true);
+		}
+	}
+	
+	/**
+	 * A method used to read a property list (keys and element pairs). The input stream is
+	 * closed by this method after it returns.
+	 *
+	 * @throws IllegalArgumentException if the input stream contains a malformed Unicode escape sequence.
+	 * @throws NullPointerException if {@code inStream} is null.
+	 *
+	 * @param inputStream The input stream
+	 * @since 1.0.0
+	 */
+	public void load(InputStream inputStream)
+	{
+		try {
+			loadEntries(inputStream);
+		}
+		catch (IOException ex) {
+			ex.printStackTrace();
+		}
+	}
+	
+	/**
+	 * A method used to read a property list into our entries, dropping every cached value.
+	 *
+	 * @param inputStream The input stream
+	 * @throws IOException If the stream could not be read
+	 * @since 1.3.0
+	 */
+	private void loadEntries(InputStream inputStream) throws IOException
+	{
+		Map<String, String> loaded = new LinkedHashMap<>();
+		new PropertiesParser(inputStream).parse(loaded);
+		
+		PropertiesJournal bulk;
+		synchronized (writeLock) {
+			Collection<String> keys = merge(loaded);
+			bulk = bulk(keys);
+			replaced(keys);
+		}
+		commit();
+		
+		if (bulk != null) {
+			compact(bulk);
+		}
+	}
+	
+	/**
+	 * A method used to reload this list whenever its file changes. The file is parsed off-thread into
+	 * a new map, which then replaces the current entries in a single step, readers keep reading the
+	 * previous entries until the new ones are complete and never wait for a reload.
+	 *
+	 * @apiNote A reload replaces every entry, changes that were not stored to the file are lost. Changes
+	 * made by {@link #store(File)} are recognized and do not cause a reload. If the directory of the file
+	 * is deleted and recreated, reloading may stop until this method is called again, see
+	 * {@link FileWatcher#watch(Path, Runnable)}.
+	 *
+	 * @throws FailedMethodException If the file could not be watched
+	 *
+	 * @param targetFile Watched file.
+	 * @since 1.3.0
+	 */
+	public synchronized void enableReload(@NotNull File targetFile)
+	{
+		Validate.notNull(targetFile, "The target file cannot be null!");
+		disableReload();
+		
+		Reload replacement = new Reload(targetFile.toPath().toAbsolutePath());
+		try {
+			replacement.registration = FileWatcher.watch(replacement.target, replacement::changed);
+		}
+		catch (IOException ex) {
+			throw new FailedMethodException("Failed to watch {0}", ex, targetFile);
+		}
+		reload = replacement;
+	}
+	
+	/**
+	 * A method used to stop reloading this list when its file changes.
+	 *
+	 * @since 1.3.0
+	 */
+	public synchronized void disableReload()
+	{
+		Reload current = reload;
+		
+		if (current != null) {
+			reload = null;
+			
+			try {
+				current.registration.close();
+			}
+			catch (IOException ex) {
+				ex.printStackTrace();
+			}
+		}
+	}
+	
+	/**
+	 * A method used to return whether this list is reloaded whenever its file changes.
+	 *
+	 * @return Whether reloading is enabled
+	 * @since 1.3.0
+	 */
+	public boolean isReloading()             { return reload != null;              }
+	
+	/**
+	 * A method used to replace our entries with the content of a file, unless the file is the one
+	 * this list was last stored to or loaded from and it did not change since.
+	 *
+	 * @param target Watched file.
+	 * @throws IOException If the file could not be read
+	 * @since 1.3.0
+	 */
+	private synchronized void reload(Path target) throws IOException
+	{
+		if (!Files.isRegularFile(target) || isUnmodified(target)) {
+			return;
+		}
+		
+		BasicFileAttributes attributes = Files.readAttributes(target, BasicFileAttributes.class);
+		Map<String, String> replacement = storage.create();
+		
+		long checksum;
+		
+		try (CheckedInputStream inputStream = new CheckedInputStream(Files.newInputStream(target), new CRC32())) {
+			new PropertiesParser(inputStream).parse(replacement);
+			checksum = inputStream.getChecksum().getValue();
+		}
+		
+		long current;
+		synchronized (writeLock) {
+			Collection<String> keys = dispatcher.isEmpty() ? null : difference(state.entries, replacement);
+			state = state.replace(replacement);
+			replaced(keys);
+			current = version.get();
+			
+			PropertiesJournal journaled = journal;
+			if (journaled != null && journaled.getSource().equals(target)) {
+				journaled.truncate(journaled.mark());
+			}
+		}
+		remember(target, attributes, -1, checksum, current, null, true);
+	}
+	
+	/**
+	 * A method used to receive every change of this list. Changes are coalesced into batches that are
+	 * delivered in order on the listener executor, loading a file produces a single batch.
+	 *
+	 * @see #addListener(String, ChangeListener)
+	 *
+	 * @param listener Change listener
+	 * @return A registration that stops calling the listener once closed
+	 * @since 1.3.0
+	 */
+	public @NotNull Closeable addListener(@NotNull ChangeListener listener) { return addListener("", listener); }
+	
+	/**
+	 * A method used to receive the changes of every key starting with a prefix. Changes are coalesced
+	 * into batches that are delivered in order on the listener executor, loading a file produces a
+	 * single batch.
+	 *
+	 * @apiNote A batch holds the keys that changed, a key changed several times before its batch was
+	 * delivered is only listed once. A key set back to its previous value may still be listed.
+	 *
+	 * @param prefix Key prefix, or an empty string for every key
+	 * @param listener Change listener
+	 * @return A registration that stops calling the listener once closed
+	 * @since 1.3.0
+	 */
+	public @NotNull Closeable addListener(@NotNull String prefix, @NotNull ChangeListener listener)
+	{
+		Validate.notNull(prefix, "The prefix cannot be null!");
+		Validate.notNull(listener, "The listener cannot be null!");
+		
+		Subscription subscription = new Subscription(prefix, listener);
+		dispatcher.subscriptions.add(subscription);
+		return () -> dispatcher.subscriptions.remove(subscription);
+	}
+	
+	/**
+	 * A method used to change the executor change batches are delivered on. By default, batches are
+	 * delivered on the executor of {@link AsyncHandler}.
+	 *
+	 * @param executor Listener executor, or null to use the executor of {@link AsyncHandler}
+	 * @since 1.3.0
+	 */
+	public void setListenerExecutor(Executor executor) { dispatcher.executor = executor; }
+	
+	/**
+	 * A method used to set a value to a property inside our property list if it
+	 * does not already exist.
+	 *
+	 * @apiNote By default, this method will not overwrite the key's current value.
+	 * To overwrite, use {@link #setProperty(String, Object, boolean)}
+	 *
+	 * @see #setProperty(String, Object, boolean)
+	 *
+	 * @throws FailedMethodException If the change could not be made durable by the journal
+	 *
+	 * @param key The target key.
+	 * @param value The desired value.
+	 * @since 1.0.0
+	 */
+	public void setProperty(String key, Object value)
+	{
+		setProperty(key, value, false);
+	}
+	
+	/**
+	 * A method used to set a value to a property inside our property list if it
+	 * does not already exist. If, the key already exists, you need to specify
+	 * whether this method should override its current value.
+	 *
+	 * @apiNote If you choose to not overwrite its value, nothing will happen to the
+	 * key's current value.
+	 *
+	 * @see #setProperty(String, Object)
+	 *
+	 * @throws FailedMethodException If the change could not be made durable by the journal
+	 *
+	 * @param key The target key.
+	 * @param value The desired value.
+	 * @param replace Enable overwriting.
+	 * @since 1.0.0
+	 */
+	public void setProperty(String key, Object value, boolean replace)
+	{
+		String text = String.valueOf(value);
+		
+		synchronized (writeLock) {
+			String previous = state.entries.get(key);
+			
+			if (previous == null || replace && !previous.equals(text)) {
+				state.entries.put(key, text);
+				changed(key);
+			}
+		}
+		commit();
+	}
+	
+	/**
+	 * A method used to remove a property from a properties map. Keep in mind this property does not
+	 * save changes by default.
+	 *
+	 * @throws FailedMethodException If the change could not be made durable by the journal
+	 *
+	 * @param key Target key
+	 * @since 1.0.0
+	 */
+	public void removeProperty(String key)
+	{
+		synchronized (writeLock) {
+			if (state.entries.remove(key) != null) {
+				changed(key);
+			}
+		}
+		commit();
+	}
+	
+	/**
+	 * A method used to set many properties at once, replacing their current values. Readers see
+	 * either none or all of the new values, and listeners receive the changed keys in a single batch.
+	 *
+	 * @implNote All-or-nothing visibility is reached by applying the changes to a full copy of the
+	 * list and swapping it in. Every call therefore takes time proportional to the size of the whole
+	 * list rather than the amount of changed keys, and briefly holds two copies of the list in memory.
+	 * Setting a handful of keys on a large list is cheaper through {@link #setProperty(String, Object)}.
+	 *
+	 * @see #batch()
+	 *
+	 * @throws FailedMethodException If the change could not be made durable by the journal
+	 *
+	 * @param values Keys and their desired values
+	 * @since 1.3.0
+	 */
+	public void setAll(@NotNull Map<String, ?> values)
+	{
+		Validate.notNull(values, "The values cannot be null!");
+		
+		Batch batch = batch();
+		values.forEach(batch::set);
+		batch.apply();
+	}
+	
+	/**
+	 * A method used to remove many properties at once. Readers see either none or all of the keys
+	 * removed, and listeners receive the removed keys in a single batch.
+	 *
+	 * @implNote Like {@link #setAll(Map)}, this copies the whole list once per call, whatever the
+	 * amount of removed keys.
+	 *
+	 * @see #batch()
+	 *
+	 * @throws FailedMethodException If the change could not be made durable by the journal
+	 *
+	 * @param keys Target keys
+	 * @since 1.3.0
+	 */
+	public void removeAll(@NotNull Collection<String> keys)
+	{
+		Validate.notNull(keys, "The keys cannot be null!");
+		
+		Batch batch = batch();
+		keys.forEach(batch::remove);
+		batch.apply();
+	}
+	
+	/**
+	 * A method used to start a batch of changes, the changes are collected by the batch and only
+	 * applied to this list once {@link Batch#apply()} is called.
+	 *
+	 * @implNote Applying a batch copies the whole list, see {@link #setAll(Map)}. Collecting many
+	 * changes into one batch pays that cost once, applying many small batches pays it every time.
+	 *
+	 * @return A new, empty batch
+	 * @since 1.3.0
+	 */
+	public @NotNull Batch batch()            { return new Batch();                 }
+	
+	/**
+	 * A method used to apply a batch of changes under a single lock. The changes are applied to a copy
+	 * of our entries, and of the key index if it was built, which then replace them in a single step, so
+	 * readers never see part of a batch. The copy costs time and memory proportional to the size of the list.
+	 *
+	 * @param changes Keys and their new values, a null value removes the key
+	 * @since 1.3.0
+	 */
+	private void apply(Map<String, String> changes)
+	{
+		synchronized (writeLock) {
+			State current = state;
+			List<String> keys = new ArrayList<>();
+			
+			for (Map.Entry<String, String> change : changes.entrySet()) {
+				if (!Objects.equals(current.entries.get(change.getKey()), change.getValue())) {
+					keys.add(change.getKey());
+				}
+			}
+			
+			if (keys.isEmpty()) {
+				return;
+			}
+			
+			Map<String, String> replacement = storage.copy(current.entries);
+			NavigableSet<String> index = current.index == null ? null : new ConcurrentSkipListSet<>(current.index);
+			
+			for (String key : keys) {
+				String value = changes.get(key);
+				
+				if (value == null) {
+					replacement.remove(key);
+				}
+				else {
+					replacement.put(key, value);
+				}
+				
+				if (index != null) {
+					if (value == null) {
+						index.remove(key);
+					}
+					else {
+						index.add(key);
+					}
+				}
+			}
+			
+			// THE ENTRIES AND THEIR KEY INDEX ARE PUBLISHED TOGETHER, SO PREFIX VIEWS NEVER SEE PART OF A BATCH
+			state = new State(replacement, index);
+			
+			for (String key : keys) {
+				parsed.remove(key);
+			}
+			
+			journal(keys);
+			touch();
+			
+			// OBSERVERS ARE TOLD OF EVERY CHANGED KEY, SO THEY CAN UPDATE THEMSELVES INSTEAD OF REBUILDING
+			for (String key : keys) {
+				publish(key);
+			}
+			
+			if (!dispatcher.isEmpty()) {
+				dispatcher.changed(keys);
+			}
+		}
+		commit();
+	}
+	
+	/**
+	 * A method called after a key was set or removed, it drops the cached value of the key and marks
+	 * this list as changed.
+	 *
+	 * @param key Changed key
+	 * @since 1.3.0
+	 */
+	private void changed(String key)
+	{
+		parsed.remove(key);
+		indexed(key);
+		journal(Collections.singleton(key));
+		touch();
+		publish(key);
+		
+		if (!dispatcher.isEmpty()) {
+			dispatcher.changed(Collections.singleton(key));
+		}
+	}
+	
+	/**
+	 * A method used to update the key index after a key was set or removed, if the index was built.
+	 *
+	 * @param key Changed key
+	 * @since 1.3.0
+	 */
+	private void indexed(String key)
+	{
+		State current = state;
+		
+		if (current.index != null) {
+			if (current.entries.containsKey(key)) {
+				current.index.add(key);
+			}
+			else {
+				current.index.remove(key);
+			}
+		}
+	}
+	
+	/**
+	 * A method called after every entry may have changed at once, it drops every cached value and
+	 * marks this list as changed. The key index must already match the new entries.
+	 *
+	 * @param keys Changed keys, or null if no listener is registered
+	 * @since 1.3.0
+	 */
+	private void replaced(Collection<String> keys)
+	{
+		parsed.clear();
+		touch();
+		publish(null);
+		
+		if (keys != null && !keys.isEmpty() && !dispatcher.isEmpty()) {
+			dispatcher.changed(keys);
+		}
+	}
+	
+	/**
+	 * A method used to merge a loaded property list into our entries.
+	 *
+	 * @param loaded Loaded property list
+	 * @return Changed keys, or null if neither a listener nor a journal needs them
+	 * @since 1.3.0
+	 */
+	private Collection<String> merge(Map<String, String> loaded)
+	{
+		State current = state;
+		List<String> keys = null;
+		
+		if (dispatcher.isEmpty() && journal == null) {
+			current.entries.putAll(loaded);
+		}
+		else {
+			keys = new ArrayList<>();
+			
+			for (Map.Entry<String, String> entry : loaded.entrySet()) {
+				if (!entry.getValue().equals(current.entries.put(entry.getKey(), entry.getValue()))) {
+					keys.add(entry.getKey());
+				}
+			}
+		}
+		
+		if (current.index != null) {
+			state = current.replace(current.entries);
+		}
+		return keys;
+	}
+	
+	/**
+	 * A method used to find every key whose value differs between two maps.
+	 *
+	 * @param previous Previous entries
+	 * @param current Current entries
+	 * @return Changed keys
+	 * @since 1.3.0
+	 */
+	private static Collection<String> difference(Map<String, String> previous, Map<String, String> current)
+	{
+		List<String> keys = new ArrayList<>();
+		
+		for (Map.Entry<String, String> entry : previous.entrySet()) {
+			if (!entry.getValue().equals(current.get(entry.getKey()))) {
+				keys.add(entry.getKey());
+			}
+		}
+		
+		for (String key : current.keySet()) {
+			if (!previous.containsKey(key)) {
+				keys.add(key);
+			}
+		}
+		return keys;
+	}
+	
+	/**
+	 * A method used to mark this list as changed, scheduling a flush if write-behind is enabled.
+	 *
+	 * @since 1.3.0
+	 */
+	private void touch()
+	{
+		version.incrementAndGet();
+		
+		WriteBehind current = writeBehind;
+		if (current != null) {
+			current.changed();
+		}
+	}
+	
+	/**
+	 * A method used to tell every observer that a key changed, observers are called on the changing
+	 * thread while it holds the write lock of this list.
+	 *
+	 * @param key Changed key, or null if every entry may have changed
+	 * @since 1.3.0
+	 */
+	private void publish(String key)
+	{
+		for (Consumer<String> observer : observers) {
+			observer.accept(key);
+		}
+	}
+	
+	/**
+	 * A method used to register an observer called after every change of this list. The observer
+	 * receives the changed key, or null if every entry may have changed.
+	 *
+	 * @param observer Change observer
+	 * @since 1.3.0
+	 */
+	void addObserver(@NotNull Consumer<String> observer) { observers.add(observer); }
+	
+	/**
+	 * A method used to remove an observer registered by {@link #addObserver(Consumer)}.
+	 *
+	 * @param observer Change observer
+	 * @since 1.3.0
+	 */
+	void removeObserver(@NotNull Consumer<String> observer) { observers.remove(observer); }
+	
+	/**
+	 * A method used to copy every entry of this list into a map, without the list changing while
+	 * it is copied.
+	 *
+	 * @param target Target map
+	 * @since 1.3.0
+	 */
+	void copyTo(@NotNull Map<String, String> target)
+	{
+		Map<String, String> current = state.entries;
+		
+		synchronized (current) {
+			target.putAll(current);
+		}
+	}
+	
+	/**
+	 * A method used to search for a specific property key inside our property list, If the
+	 * key is not found, this method will return null
+	 *
+	 * @apiNote To avoid return the default value, remember to load a property file using {@link #load(File)}
+	 * or load from an input stream using {@link #load(InputStream)}.
+	 *
+	 * @see #setProperty(String, Object)
+	 * @see #setProperty(String, Object, boolean)
+	 *
+	 * @param key The target key.
+	 * @return The value in the property list.
+	 * @since 1.0.0
+	 */
+	public String getProperty(String key)    { return state.entries.get(key);      }
+	
+	/**
+	 * A method used to search for a specific property key inside our property list, If the
+	 * key is not found, this method will return the specified default property value.
+	 *
+	 * @apiNote To avoid return the default value, remember to load a property file using {@link #load(File)}
+	 * or load from an input stream using {@link #load(InputStream)}.
+	 *
+	 * @see #setProperty(String, Object)
+	 * @see #setProperty(String, Object, boolean)
+	 *
+	 * @param key The target key.
+	 * @param defaultValue A default value.
+	 * @return The value in the property list.
+	 * @since 1.0.0
+	 */
+	public String getProperty(String key, Object defaultValue)
+	{
+		return state.entries.getOrDefault(key, String.valueOf(defaultValue));
+	}
+	
+	/**
+	 * A method used to return a property as an integer. The parsed value is cached until the
+	 * property changes, so repeated reads do not parse the value again.
+	 *
+	 * @param key The target key.
+	 * @param defaultValue Value returned if the property is missing or not a valid integer.
+	 * @return The property as an integer.
+	 * @since 1.3.0
+	 */
+	public int getInt(String key, int defaultValue)
+	{
+		Object value = getParsed(key, Type.INT);
+		return value != null ? (Integer) value : defaultValue;
+	}
+	
+	/**
+	 * A method used to return a property as a long. The parsed value is cached until the
+	 * property changes, so repeated reads do not parse the value again.
+	 *
+	 * @param key The target key.
+	 * @param defaultValue Value returned if the property is missing or not a valid long.
+	 * @return The property as a long.
+	 * @since 1.3.0
+	 */
+	public long getLong(String key, long defaultValue)
+	{
+		Object value = getParsed(key, Type.LONG);
+		return value != null ? (Long) value : defaultValue;
+	}
+	
+	/**
+	 * A method used to return a property as a boolean, only "true" and "false" are accepted, in any
+	 * case. The parsed value is cached until the property changes.
+	 *
+	 * @param key The target key.
+	 * @param defaultValue Value returned if the property is missing or not a valid boolean.
+	 * @return The property as a boolean.
+	 * @since 1.3.0
+	 */
+	public boolean getBoolean(String key, boolean defaultValue)
+	{
+		Object value = getParsed(key, Type.BOOLEAN);
+		return value != null ? (Boolean) value : defaultValue;
+	}
+	
+	/**
+	 * A method used to return a property as a double. The parsed value is cached until the
+	 * property changes, so repeated reads do not parse the value again.
+	 *
+	 * @param key The target key.
+	 * @param defaultValue Value returned if the property is missing or not a valid double.
+	 * @return The property as a double.
+	 * @since 1.3.0
+	 */
+	public double getDouble(String key, double defaultValue)
+	{
+		Object value = getParsed(key, Type.DOUBLE);
+		return value != null ? (Double) value : defaultValue;
+	}
+	
+	/**
+	 * A method used to return a property as a duration. The value can be an amount followed by a
+	 * unit, "ms", "s", "m", "h" or "d", for example "30s" or "5m", an amount without a unit is read
+	 * as seconds. ISO-8601 durations such as "PT5M" are also accepted.
+	 *
+	 * @param key The target key.
+	 * @param defaultValue Value returned if the property is missing or not a valid duration.
+	 * @return The property as a duration.
+	 * @since 1.3.0
+	 */
+	public Duration getDuration(String key, Duration defaultValue)
+	{
+		Object value = getParsed(key, Type.DURATION);
+		return value != null ? (Duration) value : defaultValue;
+	}
+	
+	/**
+	 * A method used to return a property as a locale, the value is converted using
+	 * {@link FrostAPI#toLocale(String)}. The parsed value is cached until the property changes.
+	 *
+	 * @param key The target key.
+	 * @param defaultValue Value returned if the property is missing or not an available locale.
+	 * @return The property as a locale.
+	 * @since 1.3.0
+	 */
+	public Locale getLocale(String key, Locale defaultValue)
+	{
+		Object value = getParsed(key, Type.LOCALE);
+		return value != null ? (Locale) value : defaultValue;
+	}
+	
+	/**
+	 * A method used to return the parsed value of a property, parsing it only if the cached value
+	 * was parsed from a different string or as a different type.
+	 *
+	 * @implNote Cached values are matched against the identity of the string they were parsed from, a
+	 * value cached while the property is being changed can therefore never be returned for the new string.
+	 *
+	 * @param key The target key.
+	 * @param type Value type
+	 * @return The parsed value, or null if the property is missing or invalid
+	 * @since 1.3.0
+	 */
+	private Object getParsed(String key, Type type)
+	{
+		String raw = state.entries.get(key);
+		
+		if (raw == null) {
+			return null;
+		}
+		
+		Parsed cached = parsed.get(key);
+		
+		if (cached != null && cached.raw == raw && cached.type == type) {
+			return cached.value;
+		}
+		
+		Object value;
+		try {
+			value = type.parse(raw.trim());
+		}
+		catch (RuntimeException ex) {
+			value = null;
+		}
+		
+		parsed.put(key, new Parsed(raw, type, value));
+		return value;
+	}
+	
+	/**
+	 * Returns {@code true} if this map contains no key-value mappings.
+	 *
+	 * @return {@code true} if this map contains no key-value mappings
+	 * @since 1.0.0
+	 */
+	public boolean isEmpty()                 { return state.entries.isEmpty();     }
+	
+	/**
+	 * A method used to return whether a properties are to be in alphabetical order.
+	 *
+	 * @return Whether in alphabetical order.
+	 * @since 1.0.0
+	 */
+	public boolean isOrdered()               { return storage == Storage.ORDERED;  }
+	
+	/**
+	 * A method used to return the structure holding this property list.
+	 *
+	 * @return Storage type
+	 * @since 1.3.0
+	 */
+	public Storage getStorage()              { return storage;                     }
+	
+	/**
+	 * A method used to estimate the heap memory held by the entries of this list, counting the
+	 * structure holding them, every key and every distinct value once.
+	 *
+	 * @apiNote The estimate assumes a 64-bit JVM with compressed references and compact strings.
+	 * It takes time proportional to the size of this list and is meant for monitoring, comparing the
+	 * footprint of a list in different {@link Storage} types tells how much a change of type saves.
+	 *
+	 * @return Estimated size in bytes
+	 * @since 1.3.0
+	 */
+	public long getMemoryFootprint()
+	{
+		Map<String, String> current = state.entries;
+		
+		if (current instanceof CompactStringMap) {
+			return ((CompactStringMap) current).getMemoryFootprint();
+		}
+		
+		long footprint = 0;
+		Set<String> counted = Collections.newSetFromMap(new IdentityHashMap<>());
+		
+		synchronized (current) {
+			for (Map.Entry<String, String> entry : current.entrySet()) {
+				footprint += storage.entryOverhead() + CompactStringMap.stringSize(entry.getKey());
+				
+				if (counted.add(entry.getValue())) {
+					footprint += CompactStringMap.stringSize(entry.getValue());
+				}
+			}
+		}
+		return footprint;
+	}
+	
+	/**
+	 * Tests if the specified object is a key in this table.
+	 *
+	 * @param  key possible key
+	 * @return {@code true} if and only if the specified object
+	 *         is a key in this table, as determined by the
+	 *         {@code equals} method; {@code false} otherwise
+	 * @throws NullPointerException if the specified key is null
+	 * @since 1.0.0
+	 */
+	public boolean containsKey(Object key)   { return state.entries.containsKey(key); }
+	
+	/**
+	 * A method used to return a set of string property names for a property map.
+	 *
+	 * @return Set of string property names
+	 * @since 1.0.0
+	 */
+	public Set<String> stringPropertyNames()
+	{
+		return Collections.unmodifiableSet(new LinkedHashSet<>(state.entries.keySet()));
+	}
+	
+	/**
+	 * A method used to return every key starting with a prefix, in alphabetical order. The returned
+	 * set is a live, read-only view, it always reflects the current keys of this list.
+	 *
+	 * @implNote Keys are found through a sorted index, so iterating the view takes time proportional
+	 * to the amount of matching keys rather than the size of this list. Ordered lists use their own
+	 * entries as the index, compact lists scan their table so they never hold a second copy of their
+	 * keys, other lists build a key index the first time a view is requested and keep it up to date
+	 * from then on.
+	 *
+	 * @param prefix Key prefix
+	 * @return Live view of the matching keys
+	 * @since 1.3.0
+	 */
+	public @NotNull Set<String> keysWithPrefix(@NotNull String prefix)
+	{
+		Validate.notNull(prefix, "The prefix cannot be null!");
+		return new PrefixKeys(prefix);
+	}
+	
+	/**
+	 * A method used to return every entry whose key starts with a prefix, with the prefix removed from
+	 * its key. For example, the subset {@code "db."} maps {@code "url"} to the value of {@code "db.url"}.
+	 * The returned map is a live, read-only view, it always reflects the current entries of this list.
+	 *
+	 * @see #keysWithPrefix(String)
+	 *
+	 * @param prefix Key prefix
+	 * @return Live view of the matching entries
+	 * @since 1.3.0
+	 */
+	public @NotNull Map<String, String> subset(@NotNull String prefix)
+	{
+		Validate.notNull(prefix, "The prefix cannot be null!");
+		return new Subset(prefix);
+	}
+	
+	/**
+	 * A method used to return the current keys starting with a prefix, from the entries themselves
+	 * if they are sorted or compact, or from the key index otherwise.
+	 *
+	 * @param current State returned by {@link #viewState()}
+	 * @param prefix Key prefix
+	 * @return Sorted matching keys
+	 * @since 1.3.0
+	 */
+	@SuppressWarnings("unchecked")
+	private static NavigableSet<String> keyRange(State current, String prefix)
+	{
+		if (current.entries instanceof CompactStringMap) {
+			return ((CompactStringMap) current.entries).keysWithPrefix(prefix);
+		}
+		
+		NavigableSet<String> keys = current.entries instanceof NavigableMap ? ((NavigableMap<String, String>) current.entries).navigableKeySet() : current.index;
+		
+		if (prefix.isEmpty()) {
+			return keys;
+		}
+		
+		String end = successor(prefix);
+		return end == null ? keys.tailSet(prefix, true) : keys.subSet(prefix, true, end, false);
+	}
+	
+	/**
+	 * A method used to return the current state for a prefix view, building the key index the first
+	 * time it is needed by entries that are neither sorted nor compact.
+	 *
+	 * @return Current state
+	 * @since 1.3.0
+	 */
+	private State viewState()
+	{
+		State current = state;
+		
+		if (current.index == null && !(current.entries instanceof NavigableMap) && !(current.entries instanceof CompactStringMap)) {
+			synchronized (writeLock) {
+				if (state.index == null) {
+					state = new State(state.entries, new ConcurrentSkipListSet<>(state.entries.keySet()));
+				}
+				current = state;
+			}
+		}
+		return current;
+	}
+	
+	/**
+	 * A method used to return the current keys of a prefix view.
+	 *
+	 * @param prefix Key prefix
+	 * @return Sorted matching keys
+	 * @since 1.3.0
+	 */
+	private NavigableSet<String> keyRange(String prefix)
+	{
+		return keyRange(viewState(), prefix);
+	}
+	
+	/**
+	 * A method used to return the smallest string greater than every string starting with a prefix.
+	 *
+	 * @param prefix Key prefix
+	 * @return Exclusive upper bound, or null if there is none
+	 * @since 1.3.0
+	 */
+	private static String successor(String prefix)
+	{
+		for (int i = prefix.length() - 1; i >= 0; i--) {
+			char current = prefix.charAt(i);
+			
+			if (current != Character.MAX_VALUE) {
+				return prefix.substring(0, i) + (char) (current + 1);
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * Removes all the mappings from this map.
+	 *
+	 * @throws FailedMethodException If the change could not be made durable by the journal
+	 *
+	 * @since 1.0.0
+	 */
+	public void clear()
+	{
+		synchronized (writeLock) {
+			Collection<String> keys = dispatcher.isEmpty() ? null : new ArrayList<>(state.entries.keySet());
+			state.entries.clear();
+			
+			if (state.index != null) {
+				state = state.replace(state.entries);
+			}
+			
+			PropertiesJournal current = journal;
+			if (current != null) {
+				current.appendClear();
+			}
+			replaced(keys);
+		}
+		commit();
+	}
+	
+	/**
+	 * A class used to coalesce changes of this list into delayed background stores.
+	 *
+	 * @implNote A single task is scheduled for a burst of changes, when it runs before the quiet period
+	 * has passed, it schedules itself again for the remaining time instead of storing.
+	 *
+	 * @since 1.3.0
+	 */
+	private final class WriteBehind
+	{
+		private final File target;
+		private final String comment;
+		private final long quietPeriod;
+		private final long maxDelay;
+		private final Thread hook = new Thread(this::flush, "FrostAPI-Properties-Flush");
+		private final AtomicBoolean pending = new AtomicBoolean();
+		private volatile long firstChange;
+		private volatile long lastChange;
+		private volatile ScheduledFuture<?> task;
+		
+		private WriteBehind(File target, String comment, long quietPeriod, long maxDelay)
+		{
+			this.target = target;
+			this.comment = comment;
+			this.quietPeriod = quietPeriod;
+			this.maxDelay = maxDelay;
+		}
+		
+		/**
+		 * A method called after every change, it schedules a store for the first change of a burst.
+		 *
+		 * @since 1.3.0
+		 */
+		private void changed()
+		{
+			long now = System.nanoTime();
+			lastChange = now;
+			
+			if (pending.compareAndSet(false, true)) {
+				firstChange = now;
+				schedule(quietPeriod);
+			}
+		}
+		
+		/**
+		 * A method used to schedule the check of the pending changes. If the scheduler no longer
+		 * accepts tasks, the changes are stored on a new thread instead.
+		 *
+		 * @implNote This method may run while a change holds the write lock, storing takes the lock
+		 * of the list before the write lock, so the store must never run on the calling thread.
+		 *
+		 * @param delay Delay in nanoseconds
+		 * @since 1.3.0
+		 */
+		private void schedule(long delay)
+		{
+			try {
+				task = AsyncHandler.getScheduler().schedule(this::check, delay, TimeUnit.NANOSECONDS);
+			}
+			catch (RejectedExecutionException ex) {
+				new Thread(this::flush, "FrostAPI-Properties-Flush").start();
+			}
+		}
+		
+		/**
+		 * A method used to store the pending changes once the quiet period or the maximum delay has
+		 * passed, the store itself runs on the executor of {@link AsyncHandler}.
+		 *
+		 * @since 1.3.0
+		 */
+		private void check()
+		{
+			long now = System.nanoTime();
+			long deadline = Math.min(lastChange + quietPeriod, firstChange + maxDelay);
+			
+			if (now - deadline < 0) {
+				schedule(deadline - now);
+				return;
+			}
+			
+			AsyncHandler.run(this::flush);
+		}
+		
+		/**
+		 * A method used to store the pending changes now.
+		 *
+		 * @since 1.3.0
+		 */
+		private void flush()
+		{
+			if (!pending.getAndSet(false)) {
+				return;
+			}
+			
+			try {
+				write(target, comment);
+			}
+			catch (IOException ex) {
+				ex.printStackTrace();
+			}
+		}
+		
+		/**
+		 * A method used to cancel the scheduled check, pending changes are kept.
+		 *
+		 * @since 1.3.0
+		 */
+		private void cancel()
+		{
+			ScheduledFuture<?> current = task;
+			
+			if (current != null) {
+				current.cancel(false);
+			}
+		}
+	}
+	
+	/**
+	 * A class used to reload this list shortly after its file changed, a burst of file events causes
+	 * a single reload.
+	 *
+	 * @since 1.3.0
+	 */
+	private final class Reload
+	{
+		private final Path target;
+		private final AtomicBoolean scheduled = new AtomicBoolean();
+		private Closeable registration;
+		
+		private Reload(Path target) { this.target = target; }
+		
+		/**
+		 * A method called by the file watcher whenever the file changed.
+		 *
+		 * @since 1.3.0
+		 */
+		private void changed()
+		{
+			if (scheduled.compareAndSet(false, true)) {
+				AsyncHandler.getScheduler().schedule(() -> {
+					scheduled.set(false);
+					AsyncHandler.run(this::reload);
+				}, RELOAD_DELAY, TimeUnit.MILLISECONDS);
+			}
+		}
+		
+		/**
+		 * A method used to reload the file, unless reloading was disabled in the meantime.
+		 *
+		 * @since 1.3.0
+		 */
+		private void reload()
+		{
+			if (reload != this) {
+				return;
+			}
+			
+			try {
+				Properties.this.reload(target);
+			}
+			catch (NoSuchFileException ignored) {
+				// THE FILE WAS REMOVED OR IS BEING REPLACED, THE NEXT EVENT RELOADS IT
+			}
+			catch (IOException ex) {
+				ex.printStackTrace();
+			}
+		}
+	}
+	
+	/**
+	 * A class used to collect changes to a property list and to apply them all at once. Changes are
+	 * not visible to readers until {@link #apply()} is called, and then become visible together.
+	 *
+	 * @apiNote A batch is not thread safe, it should be filled and applied by a single thread.
+	 *
+	 * @since 1.3.0
+	 */
+	public final class Batch
+	{
+		private final Map<String, String> changes = new LinkedHashMap<>();
+		
+		private Batch() {}
+		
+		/**
+		 * A method used to set a property once this batch is applied, replacing its current value.
+		 *
+		 * @param key The target key.
+		 * @param value The desired value.
+		 * @return This batch
+		 * @since 1.3.0
+		 */
+		public @NotNull Batch set(@NotNull String key, Object value)
+		{
+			Validate.notNull(key, "The key cannot be null!");
+			changes.put(key, String.valueOf(value));
+			return this;
+		}
+		
+		/**
+		 * A method used to remove a property once this batch is applied.
+		 *
+		 * @param key The target key.
+		 * @return This batch
+		 * @since 1.3.0
+		 */
+		public @NotNull Batch remove(@NotNull String key)
+		{
+			Validate.notNull(key, "The key cannot be null!");
+			changes.put(key, null);
+			return this;
+		}
+		
+		/**
+		 * A method used to apply every change of this batch under a single lock, the batch is empty
+		 * afterwards and can be reused. Listeners receive every changed key in a single batch.
+		 *
+		 * @implNote The changes are applied to a copy of the whole list, see {@link Properties#setAll(Map)}.
+		 *
+		 * @throws FailedMethodException If the change could not be made durable by the journal
+		 *
+		 * @since 1.3.0
+		 */
+		public void apply()
+		{
+			if (!changes.isEmpty()) {
+				Properties.this.apply(changes);
+				changes.clear();
+			}
+		}
+	}
+	
+	/**
+	 * A class used to view the keys of this list starting with a prefix.
+	 *
+	 * @since 1.3.0
+	 */
+	private final class PrefixKeys extends AbstractSet<String>
+	{
+		private final String prefix;
+		
+		private PrefixKeys(String prefix)        { this.prefix = prefix;               }
+		
+		@Override
+		public Iterator<String> iterator()       { return Collections.unmodifiableSet(keyRange(prefix)).iterator(); }
+		
+		@Override
+		public int size()                        { return keyRange(prefix).size();     }
+		
+		@Override
+		public boolean isEmpty()                 { return keyRange(prefix).isEmpty();  }
+		
+		@Override
+		public boolean contains(Object key)
+		{
+			return key instanceof String && ((String) key).startsWith(prefix) && state.entries.containsKey(key);
+		}
+	}
+	
+	/**
+	 * A class used to view the entries of this list starting with a prefix, with the prefix removed
+	 * from their keys.
+	 *
+	 * @since 1.3.0
+	 */
+	private final class Subset extends AbstractMap<String, String>
+	{
+		private final String prefix;
+		private final Set<Map.Entry<String, String>> entrySet = new AbstractSet<Map.Entry<String, String>>()
+		{
+			@Override
+			public Iterator<Map.Entry<String, String>> iterator() { return new SubsetIterator(prefix); }
+			
+			@Override
+			public int size()                    { return keyRange(prefix).size();     }
+			
+			@Override
+			public boolean isEmpty()             { return keyRange(prefix).isEmpty();  }
+		};
+		
+		private Subset(String prefix)            { this.prefix = prefix;               }
+		
+		@Override
+		public String get(Object key)            { return key instanceof String ? state.entries.get(prefix + key) : null; }
+		
+		@Override
+		public boolean containsKey(Object key)   { return key instanceof String && state.entries.containsKey(prefix + key); }
+		
+		@Override
+		public Set<Map.Entry<String, String>> entrySet() { return entrySet;                 }
+	}
+	
+	/**
+	 * A class used to walk through the entries of a subset, keys removed while walking are skipped.
+	 *
+	 * @since 1.3.0
+	 */
+	private final class SubsetIterator implements Iterator<Map.Entry<String, String>>
+	{
+		private final String prefix;
+		private final State current;
+		private final Iterator<String> keys;
+		private Map.Entry<String, String> next;
+		
+		private SubsetIterator(String prefix)
+		{
+			this.prefix = prefix;
+			this.current = viewState();
+			this.keys = keyRange(current, prefix).iterator();
+		}
+		
+		@Override
+		public boolean hasNext()
+		{
+			while (next == null && keys.hasNext()) {
+				String key = keys.next();
+				String value = current.entries.get(key);
+				
+				if (value != null) {
+					next = new AbstractMap.SimpleImmutableEntry<>(key.substring(prefix.length()), value);
+				}
+			}
+			return next != null;
+		}
+		
+		@Override
+		public Map.Entry<String, String> next()
+		{
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			
+			Map.Entry<String, String> entry = next;
+			next = null;
+			return entry;
+		}
+	}
+	
+	/**
+	 * A class used to coalesce the changes of this list into batches and to deliver them to every
+	 * listener, a single delivery task runs at a time so batches are always delivered in order.
+	 *
+	 * @since 1.3.0
+	 */
+	private static final class Dispatcher
+	{
+		private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+		private volatile Executor executor;
+		private Set<String> pending = new LinkedHashSet<>();
+		private boolean scheduled;
+		
+		/**
+		 * A method used to return whether no listener is registered.
+		 *
+		 * @return Whether there are no listeners
+		 * @since 1.3.0
+		 */
+		private boolean isEmpty()                { return subscriptions.isEmpty();     }
+		
+		/**
+		 * A method used to add changed keys to the pending batch, scheduling a delivery if none is
+		 * pending yet.
+		 *
+		 * @param keys Changed keys
+		 * @since 1.3.0
+		 */
+		private void changed(Collection<String> keys)
+		{
+			synchronized (this) {
+				pending.addAll(keys);
+				
+				if (scheduled) {
+					return;
+				}
+				scheduled = true;
+			}
+			
+			Executor current = executor;
+			try {
+				(current != null ? current : AsyncHandler.getExecutor()).execute(this::deliver);
+			}
+			catch (RejectedExecutionException ex) {
+				synchronized (this) {
+					scheduled = false;
+				}
+				ex.printStackTrace();
+			}
+		}
+		
+		/**
+		 * A method used to deliver pending batches until no change is left.
+		 *
+		 * @since 1.3.0
+		 */
+		private void deliver()
+		{
+			while (true) {
+				Set<String> keys;
+				
+				synchronized (this) {
+					if (pending.isEmpty()) {
+						scheduled = false;
+						return;
+					}
+					keys = pending;
+					pending = new LinkedHashSet<>();
+				}
+				
+				for (Subscription subscription : subscriptions) {
+					subscription.deliver(keys);
+				}
+			}
+		}
+	}
+	
+	/**
+	 * A class used to hold a listener along with the prefix of the keys it receives.
+	 *
+	 * @since 1.3.0
+	 */
+	private static final class Subscription
+	{
+		private final String prefix;
+		private final ChangeListener listener;
+		
+		private Subscription(String prefix, ChangeListener listener)
+		{
+			this.prefix = prefix;
+			this.listener = listener;
+		}
+		
+		/**
+		 * A method used to call the listener with the keys of a batch matching its prefix, a failing
+		 * listener does not stop the others.
+		 *
+		 * @param keys Changed keys
+		 * @since 1.3.0
+		 */
+		private void deliver(Set<String> keys)
+		{
+			Set<String> matching = keys;
+			
+			if (!prefix.isEmpty()) {
+				matching = new LinkedHashSet<>();
+				
+				for (String key : keys) {
+					if (key.startsWith(prefix)) {
+						matching.add(key);
+					}
+				}
+			}
+			
+			if (matching.isEmpty()) {
+				return;
+			}
+			
+			try {
+				listener.onChange(Collections.unmodifiableSet(matching));
+			}
+			catch (RuntimeException ex) {
+				ex.printStackTrace();
+			}
+		}
+	}
+	
+	/**
+	 * The types a property can be parsed as.
+	 *
+	 * @since 1.3.0
+	 */
+	private enum Type
+	{
+		INT, LONG, BOOLEAN, DOUBLE, DURATION, LOCALE;
+		
+		/**
+		 * A method used to parse a property value as this type.
+		 *
+		 * @param value Trimmed property value
+		 * @return Parsed value, or null if the value is invalid
+		 * @since 1.3.0
+		 */
+		private Object parse(String value)
+		{
+			switch (this) {
+				case INT:
+					return Integer.parseInt(value);
+				case LONG:
+					return Long.parseLong(value);
+				case BOOLEAN:
+					return value.equalsIgnoreCase("true") ? Boolean.TRUE : value.equalsIgnoreCase("false") ? Boolean.FALSE : null;
+				case DOUBLE:
+					return Double.parseDouble(value);
+				case DURATION:
+					return parseDuration(value);
+				default:
+					return FrostAPI.getInstance().toLocale(value);
+			}
+		}
+		
+		/**
+		 * A method used to parse a duration written as an amount and a unit, or as an ISO-8601 duration.
+		 *
+		 * @param value Trimmed property value
+		 * @return Parsed duration
+		 * @since 1.3.0
+		 */
+		private static Duration parseDuration(String value)
+		{
+			if (value.startsWith("P") || value.startsWith("p")) {
+				return Duration.parse(value);
+			}
+			
+			int split = value.startsWith("-") ? 1 : 0;
+			while (split < value.length() && Character.isDigit(value.charAt(split))) {
+				split++;
+			}
+			
+			long amount = Long.parseLong(value.substring(0, split));
+			
+			switch (value.substring(split).trim().toLowerCase(Locale.ROOT)) {
+				case "ms":
+					return Duration.ofMillis(amount);
+				case "":
+				case "s":
+					return Duration.ofSeconds(amount);
+				case "m":
+					return Duration.ofMinutes(amount);
+				case "h":
+					return Duration.ofHours(amount);
+				case "d":
+					return Duration.ofDays(amount);
+				default:
+					throw new IllegalArgumentException("Invalid duration: " + value);
+			}
+		}
+	}
+	
+	/**
+	 * A class used to hold a parsed property value along with the string it was parsed from.
+	 *
+	 * @since 1.3.0
+	 */
+	private static final class Parsed
+	{
+		private final String raw;
+		private final Type type;
+		private final Object value;
+		
+		private Parsed(String raw, Type type, Object value)
+		{
+			this.raw = raw;
+			this.type = type;
+			this.value = value;
+		}
+	}	
+	/**
+	 * A class used to hold our entries along with their sorted key index, so both are always replaced
+	 * together. The index is null until a prefix view needs it, and for entries that are sorted or compact.
+	 *
+	 * @since 1.3.0
+	 */
+	private static final class State
+	{
+		private final Map<String, String> entries;
+		private final NavigableSet<String> index;
+		
+		private State(Map<String, String> entries, NavigableSet<String> index)
+		{
+			this.entries = entries;
+			this.index = index;
+		}
+		
+		/**
+		 * A method used to return a state holding other entries, with a key index built for them if this
+		 * state has one.
+		 *
+		 * @param replacement Replacing entries
+		 * @return New state
+		 * @since 1.3.0
+		 */
+		private State replace(Map<String, String> replacement)
+		{
+			return new State(replacement, index == null ? null : new ConcurrentSkipListSet<>(replacement.keySet()));
+		}
+	}
+}
@@ -0,0 +1,449 @@
+package com.frostdeveloper.api.core;
+
+import com.frostdeveloper.api.utility.FileTransfer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A class used to append the changes of a property list to a write-ahead journal kept next to its text
+ * file. Replaying the journal on top of the text file restores every change made since the text file
+ * was last written, even if the JVM stopped without storing the list.
+ * <br><br/>
+ * Every record holds its length and a CRC-32 checksum of its content, a record that was only partly
+ * written when the JVM stopped is detected and ignored, along with everything after it.
+ *
+ * @implNote Records are appended to memory and written by {@link #sync()}. When several threads sync
+ * at the same time, a single thread writes and flushes the records of all of them to the storage device,
+ * so concurrent changes share the cost of a single flush.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+final class PropertiesJournal implements Closeable
+{
+	/**
+	 * The extension appended to the name of a text file to find its journal.
+	 *
+	 * @since 1.3.0
+	 */
+	static final String EXTENSION = ".journal";
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final int HEADER_SIZE = 8;
+	private static final byte SET = 1;
+	private static final byte REMOVE = 2;
+	private static final byte CLEAR = 3;
+	
+	private final Path source;
+	private final Path path;
+	private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+	private final DataOutputStream output = new DataOutputStream(pending);
+	private FileChannel channel;
+	private long start;
+	private long appended;
+	private long durable;
+	private boolean syncing;
+	private IOException failure;
+	
+	/**
+	 * Creates a new journal for a text file, opening its journal file for appending. If the journal
+	 * ends with a partly written record, the record is removed.
+	 *
+	 * @param source Text file
+	 * @throws IOException If the journal could not be opened
+	 * @since 1.3.0
+	 */
+	PropertiesJournal(@NotNull Path source) throws IOException
+	{
+		this.source = source;
+		this.path = of(source);
+		
+		Files.createDirectories(path.toAbsolutePath().getParent());
+		channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		
+		long valid = replay(path, null);
+		channel.truncate(valid);
+		channel.position(valid);
+		appended = durable = valid;
+	}
+	
+	/**
+	 * A method used to return the location of the journal of a text file.
+	 *
+	 * @param source Text file
+	 * @return Journal location
+	 * @since 1.3.0
+	 */
+	static Path of(@NotNull Path source)     { return source.resolveSibling(source.getFileName() + EXTENSION); }
+	
+	/**
+	 * A method used to return the text file this journal belongs to.
+	 *
+	 * @return Text file
+	 * @since 1.3.0
+	 */
+	Path getSource()                         { return source;                      }
+	
+	/**
+	 * A method used to apply every complete record of this journal to a property list.
+	 *
+	 * @param target Target property list
+	 * @throws IOException If the journal could not be read
+	 * @since 1.3.0
+	 */
+	synchronized void replay(@NotNull Map<String, String> target) throws IOException
+	{
+		awaitSync();
+		flush();
+		replay(path, target);
+	}
+	
+	/**
+	 * A method used to read the records of a journal, applying them to a property list if one is given.
+	 *
+	 * @param path Journal file
+	 * @param target Target property list, or null to only validate the records
+	 * @return The length of the journal up to its last complete record
+	 * @throws IOException If the journal could not be read
+	 * @since 1.3.0
+	 */
+	private static long replay(Path path, Map<String, String> target) throws IOException
+	{
+		long size = Files.size(path);
+		
+		if (size == 0) {
+			return 0;
+		}
+		
+		if (size > Integer.MAX_VALUE) {
+			throw new IOException("The journal " + path + " is too large to be replayed");
+		}
+		
+		try (MappedFile file = new MappedFile(path, Integer.MAX_VALUE)) {
+			ByteBuffer content = file.getChunk(0);
+			CRC32 crc = new CRC32();
+			
+			while (content.remaining() >= HEADER_SIZE) {
+				int recordStart = content.position();
+				int length = content.getInt();
+				long checksum = content.getInt() & 0xFFFFFFFFL;
+				
+				if (length <= 0 || length > content.remaining()) {
+					return recordStart;
+				}
+				
+				ByteBuffer record = (ByteBuffer) content.slice().limit(length);
+				crc.reset();
+				crc.update(record.duplicate());
+				
+				if (crc.getValue() != checksum) {
+					return recordStart;
+				}
+				
+				if (target != null) {
+					apply(record, target);
+				}
+				content.position(content.position() + length);
+			}
+			return content.position();
+		}
+	}
+	
+	/**
+	 * A method used to apply a single record to a property list.
+	 *
+	 * @param record Record content
+	 * @param target Target property list
+	 * @since 1.3.0
+	 */
+	private static void apply(ByteBuffer record, Map<String, String> target)
+	{
+		switch (record.get()) {
+			case SET:
+				target.put(PropertiesSnapshot.readString(record), PropertiesSnapshot.readString(record));
+				break;
+			case REMOVE:
+				target.remove(PropertiesSnapshot.readString(record));
+				break;
+			case CLEAR:
+				target.clear();
+				break;
+			default:
+				throw new IllegalStateException("Unknown journal record in " + PropertiesJournal.class.getSimpleName());
+		}
+	}
+	
+	/**
+	 * A method used to append the new value of a key, the change is not durable until {@link #sync()}
+	 * returns.
+	 *
+	 * @param key Changed key
+	 * @param value New value, or null if the key was removed
+	 * @since 1.3.0
+	 */
+	synchronized void append(@NotNull String key, String value)
+	{
+		ByteArrayOutputStream record = new ByteArrayOutputStream();
+		DataOutputStream recordOutput = new DataOutputStream(record);
+		
+		try {
+			recordOutput.writeByte(value == null ? REMOVE : SET);
+			PropertiesSnapshot.writeString(recordOutput, key);
+			
+			if (value != null) {
+				PropertiesSnapshot.writeString(recordOutput, value);
+			}
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to encode a journal record", ex);
+		}
+		append(record.toByteArray());
+	}
+	
+	/**
+	 * A method used to append the removal of every key, the change is not durable until {@link #sync()}
+	 * returns.
+	 *
+	 * @since 1.3.0
+	 */
+	synchronized void appendClear()           { append(new byte[] { CLEAR });       }
+	
+	/**
+	 * A method used to append a record to the pending records. Once the journal failed, records are
+	 * dropped rather than buffered, as they could never be written.
+	 *
+	 * @param record Record content
+	 * @since 1.3.0
+	 */
+	private void append(byte[] record)
+	{
+		if (failure != null) {
+			return;
+		}
+		
+		CRC32 crc = new CRC32();
+		crc.update(record, 0, record.length);
+		
+		try {
+			output.writeInt(record.length);
+			output.writeInt((int) crc.getValue());
+			output.write(record);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to encode a journal record", ex);
+		}
+		appended += HEADER_SIZE + record.length;
+	}
+	
+	/**
+	 * A method used to return whether writing this journal failed, a failed journal keeps failing
+	 * and no longer accepts records.
+	 *
+	 * @return Whether the journal failed
+	 * @since 1.3.0
+	 */
+	synchronized boolean isFailed()          { return failure != null;             }
+	
+	/**
+	 * A method used to return the length of this journal, including the records not written yet.
+	 *
+	 * @return Journal length
+	 * @since 1.3.0
+	 */
+	synchronized long size()                 { return appended - start;            }
+	
+	/**
+	 * A method used to return the current end of this journal, every record appended so far lies
+	 * before it.
+	 *
+	 * @return Journal position
+	 * @since 1.3.0
+	 */
+	synchronized long mark()                 { return appended;                    }
+	
+	/**
+	 * A method used to wait until every record appended so far is written and flushed to the storage
+	 * device. If another thread is already flushing, this thread waits for it and then flushes every
+	 * record appended in the meantime in a single write.
+	 *
+	 * @throws IOException If the journal could not be written
+	 * @since 1.3.0
+	 */
+	void sync() throws IOException
+	{
+		byte[] content;
+		long end;
+		
+		synchronized (this) {
+			long target = appended;
+			
+			while (syncing && durable < target) {
+				try {
+					wait();
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Interrupted while waiting for the journal");
+				}
+			}
+			
+			if (failure != null) {
+				throw failure;
+			}
+			
+			if (durable >= target) {
+				return;
+			}
+			
+			syncing = true;
+			content = pending.toByteArray();
+			pending.reset();
+			end = appended;
+		}
+		
+		IOException failed = null;
+		try {
+			write(content);
+			channel.force(false);
+		}
+		catch (IOException ex) {
+			failed = ex;
+		}
+		
+		synchronized (this) {
+			syncing = false;
+			
+			if (failed == null) {
+				durable = end;
+			}
+			else {
+				failure = failed;
+				pending.reset();
+			}
+			notifyAll();
+		}
+		
+		if (failed != null) {
+			throw failed;
+		}
+	}
+	
+	/**
+	 * A method used to remove every record before a position, once the text file holds every change
+	 * made up to that position. The remaining records are copied to a new journal which then replaces
+	 * this one atomically.
+	 *
+	 * @param position Position returned by {@link #mark()}
+	 * @throws IOException If the journal could not be rewritten
+	 * @since 1.3.0
+	 */
+	synchronized void truncate(long position) throws IOException
+	{
+		awaitSync();
+		
+		if (!channel.isOpen() || position <= start) {
+			return;
+		}
+		flush();
+		long offset = position - start;
+		long length = channel.size() - offset;
+		
+		FileTransfer.writeAtomically(path, true, target -> {
+			for (long copied = 0; copied < length; ) {
+				copied += FileTransfer.transfer(channel, offset + copied, length - copied, target);
+			}
+		});
+		
+		channel.close();
+		channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		channel.position(channel.size());
+		start = position;
+		durable = appended;
+	}
+	
+	/**
+	 * A method used to wait until no thread is writing to the journal, the caller must hold the lock
+	 * of this journal.
+	 *
+	 * @throws InterruptedIOException If the thread was interrupted while waiting
+	 * @since 1.3.0
+	 */
+	private void awaitSync() throws InterruptedIOException
+	{
+		while (syncing) {
+			try {
+				wait();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for the journal");
+			}
+		}
+	}
+	
+	/**
+	 * A method used to write the pending records without flushing them, the caller must hold the lock
+	 * of this journal and no sync may be running.
+	 *
+	 * @throws IOException If the journal could not be written
+	 * @since 1.3.0
+	 */
+	private void flush() throws IOException
+	{
+		if (failure != null) {
+			throw failure;
+		}
+		
+		write(pending.toByteArray());
+		pending.reset();
+	}
+	
+	/**
+	 * A method used to write content at the end of the journal.
+	 *
+	 * @param content Record content
+	 * @throws IOException If the journal could not be written
+	 * @since 1.3.0
+	 */
+	private void write(byte[] content) throws IOException
+	{
+		ByteBuffer buffer = ByteBuffer.wrap(content);
+		
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+	}
+	
+	/**
+	 * A method used to write and flush every pending record and to close the journal file. The file
+	 * is closed even if the records could not be written.
+	 *
+	 * @throws IOException If the journal could not be written
+	 * @since 1.3.0
+	 */
+	@Override
+	public void close() throws IOException
+	{
+		try {
+			sync();
+		}
+		finally {
+			synchronized (this) {
+				awaitSync();
+				channel.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,366 @@
+package com.frostdeveloper.api.core;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * A class used to read property lists in the format of {@link java.util.Properties#load(InputStream)}.
+ * The stream is decoded as ISO 8859-1 through a single buffer and every entry is parsed in one pass,
+ * handling escapes, unicode escapes and line continuations without building intermediate lines.
+ *
+ * @apiNote A parser reads a single stream and is not thread safe.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+final class PropertiesParser
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int EOF = -1;
+	private static final int LINE_END = -2;
+	private static final int ESCAPED = 0x10000;
+	
+	private final InputStream input;
+	private final byte[] buffer = new byte[BUFFER_SIZE];
+	private char[] chars = new char[256];
+	private int position;
+	private int limit;
+	private int length;
+	private int terminator;
+	
+	/**
+	 * Creates a new parser reading a stream, the stream is not closed by this parser.
+	 *
+	 * @param input Source stream
+	 * @since 1.3.0
+	 */
+	PropertiesParser(@NotNull InputStream input) { this.input = input; }
+	
+	/**
+	 * A method used to parse every entry of the stream into a map, a key that is defined more than
+	 * once keeps its last value.
+	 *
+	 * @param target Target map
+	 * @return The amount of entries parsed
+	 * @throws IOException If the stream could not be read
+	 * @throws IllegalArgumentException If the stream contains a malformed unicode escape
+	 * @since 1.3.0
+	 */
+	int parse(@NotNull Map<String, String> target) throws IOException
+	{
+		int count = 0;
+		
+		for (int c = read(); c != EOF; c = read()) {
+			if (c == ' ' || c == '\t' || c == '\f' || c == '\n' || c == '\r') {
+				continue;
+			}
+			
+			if (c == '#' || c == '!') {
+				skipComment();
+				continue;
+			}
+			
+			if (c == '\\') {
+				int escaped = read();
+				
+				if (escaped == '\r' || escaped == '\n') {
+					// A CONTINUED EMPTY LINE IS IGNORED, UNLESS IT ENDS THE STREAM
+					if (read() != EOF) {
+						position--;
+						
+						if (escaped == '\r') {
+							skipLineFeed();
+						}
+						skipIndentation();
+						continue;
+					}
+					escaped = EOF;
+				}
+				
+				if (escaped == EOF) {
+					target.put("", "");
+					count++;
+					continue;
+				}
+				position--;
+			}
+			
+			position--;
+			target.put(readKey(), readValue());
+			count++;
+		}
+		return count;
+	}
+	
+	/*
+	 * ENTRY PARSING
+	 */
+	
+	/**
+	 * A method used to read a key, remembering the character that terminated it.
+	 *
+	 * @return Parsed key
+	 * @throws IOException If the stream could not be read
+	 * @since 1.3.0
+	 */
+	private String readKey() throws IOException
+	{
+		length = 0;
+		
+		int c;
+		while ((c = next()) >= 0 && c != '=' && c != ':' && !isWhitespace(c)) {
+			append(c);
+		}
+		
+		terminator = c;
+		return new String(chars, 0, length);
+	}
+	
+	/**
+	 * A method used to read the value following a key, skipping the separator and the whitespace
+	 * around it.
+	 *
+	 * @return Parsed value
+	 * @throws IOException If the stream could not be read
+	 * @since 1.3.0
+	 */
+	private String readValue() throws IOException
+	{
+		if (terminator < 0) {
+			return "";
+		}
+		
+		int c = next();
+		
+		if (isWhitespace(terminator)) {
+			while (isWhitespace(c)) {
+				c = next();
+			}
+			
+			if (c == '=' || c == ':') {
+				c = next();
+			}
+		}
+		
+		while (isWhitespace(c)) {
+			c = next();
+		}
+		
+		length = 0;
+		
+		while (c >= 0) {
+			append(c);
+			c = next();
+		}
+		return new String(chars, 0, length);
+	}
+	
+	/**
+	 * A method used to read the next character of the current entry. Escaped characters are returned
+	 * with the escaped flag set, line continuations are followed and the leading whitespace of the
+	 * continued line is skipped.
+	 *
+	 * @return Next character, {@code EOF} or {@code LINE_END}
+	 * @throws IOException If the stream could not be read
+	 * @since 1.3.0
+	 */
+	private int next() throws IOException
+	{
+		while (true) {
+			int c = read();
+			
+			switch (c) {
+				case '\r':
+					skipLineFeed();
+					return LINE_END;
+				case '\n':
+					return LINE_END;
+				case '\\':
+					break;
+				default:
+					return c;
+			}
+			
+			c = read();
+			
+			switch (c) {
+				case EOF:
+					return EOF;
+				case '\r':
+					skipLineFeed();
+					skipIndentation();
+					continue;
+				case '\n':
+					skipIndentation();
+					continue;
+				case 'u':
+					return readUnicode() | ESCAPED;
+				case 't':
+					return '\t' | ESCAPED;
+				case 'n':
+					return '\n' | ESCAPED;
+				case 'r':
+					return '\r' | ESCAPED;
+				case 'f':
+					return '\f' | ESCAPED;
+				default:
+					return c | ESCAPED;
+			}
+		}
+	}
+	
+	/**
+	 * A method used to read the four hexadecimal digits of a unicode escape.
+	 *
+	 * @return Escaped character
+	 * @throws IOException If the stream could not be read
+	 * @since 1.3.0
+	 */
+	private int readUnicode() throws IOException
+	{
+		int value = 0;
+		
+		for (int i = 0; i < 4; i++) {
+			int digit = Character.digit(readContinued(), 16);
+			
+			if (digit < 0) {
+				throw new IllegalArgumentException("Malformed \\uxxxx encoding.");
+			}
+			value = value << 4 | digit;
+		}
+		return value;
+	}
+	
+	/**
+	 * A method used to read the next character without resolving escapes, following any line
+	 * continuation in between.
+	 *
+	 * @return Next character, or {@code EOF}
+	 * @throws IOException If the stream could not be read
+	 * @since 1.3.0
+	 */
+	private int readContinued() throws IOException
+	{
+		int c = read();
+		
+		while (c == '\\') {
+			int escaped = read();
+			
+			if (escaped == '\r') {
+				skipLineFeed();
+			}
+			else if (escaped != '\n') {
+				return c;
+			}
+			skipIndentation();
+			c = read();
+		}
+		return c;
+	}
+	
+	/**
+	 * A method used to append a character to the current key or value, growing the buffer when needed.
+	 *
+	 * @param c Character, possibly with the escaped flag set
+	 * @since 1.3.0
+	 */
+	private void append(int c)
+	{
+		if (length == chars.length) {
+			chars = Arrays.copyOf(chars, length * 2);
+		}
+		chars[length++] = (char) c;
+	}
+	
+	/**
+	 * A method used to test whether an unescaped character separates a key from its value.
+	 *
+	 * @param c Character
+	 * @return Whether the character is whitespace
+	 * @since 1.3.0
+	 */
+	private static boolean isWhitespace(int c)  { return c == ' ' || c == '\t' || c == '\f'; }
+	
+	/*
+	 * STREAM READING
+	 */
+	
+	/**
+	 * A method used to skip the rest of a comment line, comments cannot be continued.
+	 *
+	 * @throws IOException If the stream could not be read
+	 * @since 1.3.0
+	 */
+	private void skipComment() throws IOException
+	{
+		int c;
+		do {
+			c = read();
+		}
+		while (c != EOF && c != '\n' && c != '\r');
+	}
+	
+	/**
+	 * A method used to skip the line feed of a "\r\n" line break.
+	 *
+	 * @throws IOException If the stream could not be read
+	 * @since 1.3.0
+	 */
+	private void skipLineFeed() throws IOException
+	{
+		int c = read();
+		
+		if (c != '\n' && c != EOF) {
+			position--;
+		}
+	}
+	
+	/**
+	 * A method used to skip the leading whitespace of a continued line.
+	 *
+	 * @throws IOException If the stream could not be read
+	 * @since 1.3.0
+	 */
+	private void skipIndentation() throws IOException
+	{
+		int c;
+		do {
+			c = read();
+		}
+		while (isWhitespace(c));
+		
+		if (c != EOF) {
+			position--;
+		}
+	}
+	
+	/**
+	 * A method used to read the next byte of the stream as an ISO 8859-1 character. The last byte of
+	 * the previous buffer is kept when refilling, so up to two characters can always be unread.
+	 *
+	 * @return Next character, or {@code EOF}
+	 * @throws IOException If the stream could not be read
+	 * @since 1.3.0
+	 */
+	private int read() throws IOException
+	{
+		if (position == limit) {
+			int keep = Math.min(limit, 1);
+			byte last = buffer[Math.max(limit - 1, 0)];
+			int read = input.read(buffer, keep, buffer.length - keep);
+			
+			if (read <= 0) {
+				return EOF;
+			}
+			buffer[0] = keep > 0 ? last : buffer[0];
+			position = keep;
+			limit = keep + read;
+		}
+		return buffer[position++] & 0xFF;
+	}
+}
@@ -0,0 +1,378 @@
+package com.frostdeveloper.api.core;
+
+import com.frostdeveloper.api.utility.FileTransfer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * A class used to keep a binary copy of a property list next to its text file, so the list can be read
+ * back without parsing. Every distinct key and value is written once to a string table, entries refer
+ * to the table by index and the file ends with a CRC-32 checksum of its content. Lengths and indexes
+ * are written as variable length integers, so small lists stay small.
+ * <br><br/>
+ * A snapshot records the size, modification time and CRC-32 checksum of the text file it was taken
+ * from, it is only read while the text file still has all three, so editing the text file always takes
+ * precedence, even when the edit keeps the size and modification time of the file.
+ *
+ * @implNote Strings that only hold ISO 8859-1 characters are written one byte per character, any other
+ * string is written as UTF-16, so every string is read back exactly as it was written.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+final class PropertiesSnapshot
+{
+	/**
+	 * The extension appended to the name of a text file to find its snapshot.
+	 *
+	 * @since 1.3.0
+	 */
+	static final String EXTENSION = ".snapshot";
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final int MAGIC = 0x46505332;
+	private static final int HEADER_SIZE = 28;
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final int CHECKSUM_SIZE = 8;
+	
+	private PropertiesSnapshot() {}
+	
+	/**
+	 * A method used to return the location of the snapshot of a text file.
+	 *
+	 * @param source Text file
+	 * @return Snapshot location
+	 * @since 1.3.0
+	 */
+	static Path of(@NotNull Path source)     { return source.resolveSibling(source.getFileName() + EXTENSION); }
+	
+	/**
+	 * A method used to encode the entries of a property list, the caller must prevent the list from
+	 * changing until this method returns.
+	 *
+	 * @param entries Property list
+	 * @return Encoded string table and entries
+	 * @since 1.3.0
+	 */
+	static byte[] render(@NotNull Map<String, String> entries)
+	{
+		Map<String, Integer> indexes = new HashMap<>();
+		ByteArrayOutputStream strings = new ByteArrayOutputStream();
+		ByteArrayOutputStream pairs = new ByteArrayOutputStream(entries.size() * 4);
+		
+		try {
+			DataOutputStream stringOutput = new DataOutputStream(strings);
+			DataOutputStream pairOutput = new DataOutputStream(pairs);
+			
+			for (Map.Entry<String, String> entry : entries.entrySet()) {
+				writeVarInt(pairOutput, index(entry.getKey(), indexes, stringOutput));
+				writeVarInt(pairOutput, index(entry.getValue(), indexes, stringOutput));
+			}
+			
+			ByteArrayOutputStream body = new ByteArrayOutputStream(8 + strings.size() + pairs.size());
+			DataOutputStream output = new DataOutputStream(body);
+			output.writeInt(indexes.size());
+			output.writeInt(entries.size());
+			strings.writeTo(output);
+			pairs.writeTo(output);
+			return body.toByteArray();
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException("Failed to encode the property list", ex);
+		}
+	}
+	
+	/**
+	 * A method used to return the table index of a string, writing the string to the table the first
+	 * time it is seen.
+	 *
+	 * @param value Target string
+	 * @param indexes Indexes of the strings already written
+	 * @param output String table
+	 * @return Table index
+	 * @throws IOException If the string could not be written
+	 * @since 1.3.0
+	 */
+	private static int index(String value, Map<String, Integer> indexes, DataOutputStream output) throws IOException
+	{
+		Integer index = indexes.get(value);
+		
+		if (index != null) {
+			return index;
+		}
+		
+		writeString(output, value);
+		indexes.put(value, indexes.size());
+		return indexes.size() - 1;
+	}
+	
+	/**
+	 * A method used to write a string, one byte per character if it only holds ISO 8859-1 characters
+	 * and as UTF-16 otherwise.
+	 *
+	 * @param output Target stream
+	 * @param value Target string
+	 * @throws IOException If the string could not be written
+	 * @since 1.3.0
+	 */
+	static void writeString(@NotNull DataOutputStream output, @NotNull String value) throws IOException
+	{
+		if (isNarrow(value)) {
+			writeVarInt(output, value.length() << 1);
+			output.writeBytes(value);
+		}
+		else {
+			writeVarInt(output, value.length() << 1 | 1);
+			output.writeChars(value);
+		}
+	}
+	
+	/**
+	 * A method used to read a string written by {@link #writeString(DataOutputStream, String)}.
+	 *
+	 * @param input Source buffer
+	 * @return Decoded string
+	 * @since 1.3.0
+	 */
+	static String readString(@NotNull ByteBuffer input)
+	{
+		int header = readVarInt(input);
+		int length = header >>> 1;
+		
+		if ((header & 1) == 0) {
+			byte[] bytes = new byte[length];
+			input.get(bytes);
+			return new String(bytes, StandardCharsets.ISO_8859_1);
+		}
+		
+		char[] chars = new char[length];
+		input.asCharBuffer().get(chars);
+		input.position(input.position() + length * 2);
+		return new String(chars);
+	}
+	
+	/**
+	 * A method used to test whether every character of a string fits in a single byte.
+	 *
+	 * @param value Target string
+	 * @return Whether the string is ISO 8859-1
+	 * @since 1.3.0
+	 */
+	private static boolean isNarrow(String value)
+	{
+		for (int i = 0; i < value.length(); i++) {
+			if (value.charAt(i) > 0xFF) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * A method used to write a positive integer seven bits at a time, the highest bit of each byte
+	 * tells whether another byte follows.
+	 *
+	 * @param output Target stream
+	 * @param value Positive integer
+	 * @throws IOException If the integer could not be written
+	 * @since 1.3.0
+	 */
+	private static void writeVarInt(DataOutputStream output, int value) throws IOException
+	{
+		while ((value & ~0x7F) != 0) {
+			output.writeByte(value & 0x7F | 0x80);
+			value >>>= 7;
+		}
+		output.writeByte(value);
+	}
+	
+	/**
+	 * A method used to read an integer written by {@link #writeVarInt(DataOutputStream, int)}.
+	 *
+	 * @param input Source buffer
+	 * @return Positive integer
+	 * @since 1.3.0
+	 */
+	private static int readVarInt(ByteBuffer input)
+	{
+		int value = 0;
+		
+		for (int shift = 0; ; shift += 7) {
+			byte current = input.get();
+			value |= (current & 0x7F) << shift;
+			
+			if (current >= 0) {
+				return value;
+			}
+		}
+	}
+	
+	/**
+	 * A method used to write the snapshot of a text file, replacing any previous snapshot atomically.
+	 *
+	 * @param source Text file
+	 * @param attributes Attributes of the text file holding the rendered entries
+	 * @param body Entries encoded by {@link #render(Map)}
+	 * @throws IOException If the snapshot could not be written
+	 * @since 1.3.0
+	 */
+	static void write(@NotNull Path source, @NotNull BasicFileAttributes attributes, byte[] body) throws IOException
+	{
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		header.putInt(MAGIC);
+		header.putLong(attributes.size());
+		header.putLong(attributes.lastModifiedTime().toMillis());
+		header.putLong(checksum(source));
+		header.flip();
+		
+		CRC32 crc = new CRC32();
+		crc.update(header.array(), 0, header.limit());
+		crc.update(body, 0, body.length);
+		
+		ByteBuffer checksum = ByteBuffer.allocate(CHECKSUM_SIZE);
+		checksum.putLong(crc.getValue());
+		checksum.flip();
+		
+		ByteBuffer[] content = { header, ByteBuffer.wrap(body), checksum };
+		
+		FileTransfer.writeAtomically(of(source), false, channel -> {
+			while (checksum.hasRemaining()) {
+				channel.write(content);
+			}
+		});
+	}
+	
+	/**
+	 * A method used to test whether the snapshot of a text file was taken from its current content.
+	 * A snapshot that cannot be read is never current.
+	 *
+	 * @param source Text file
+	 * @param attributes Current attributes of the text file
+	 * @return Whether the snapshot is current
+	 * @since 1.3.0
+	 */
+	static boolean isCurrent(@NotNull Path source, @NotNull BasicFileAttributes attributes)
+	{
+		Path path = of(source);
+		
+		if (!Files.isRegularFile(path)) {
+			return false;
+		}
+		
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			
+			while (header.hasRemaining() && channel.read(header) != -1) {
+				// READ THE WHOLE HEADER
+			}
+			header.flip();
+			return isCurrent(header, source, attributes);
+		}
+		catch (IOException ex) {
+			return false;
+		}
+	}
+	
+	/**
+	 * A method used to test whether a snapshot header matches a text file. The size and modification
+	 * time are compared first, the text file is only read to compare its checksum if both match.
+	 *
+	 * @param header Snapshot content, positioned at its start
+	 * @param source Text file
+	 * @param attributes Current attributes of the text file
+	 * @return Whether the snapshot is current
+	 * @throws IOException If the text file could not be read
+	 * @since 1.3.0
+	 */
+	private static boolean isCurrent(ByteBuffer header, Path source, BasicFileAttributes attributes) throws IOException
+	{
+		return header.remaining() >= HEADER_SIZE && header.getInt() == MAGIC && header.getLong() == attributes.size()
+				&& header.getLong() == attributes.lastModifiedTime().toMillis() && header.getLong() == checksum(source);
+	}
+	
+	/**
+	 * A method used to calculate the CRC-32 checksum of a text file.
+	 *
+	 * @param source Text file
+	 * @return CRC-32 checksum
+	 * @throws IOException If the text file could not be read
+	 * @since 1.3.0
+	 */
+	private static long checksum(Path source) throws IOException
+	{
+		CRC32 crc = new CRC32();
+		ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+		
+		try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+			while (channel.read(buffer) != -1) {
+				buffer.flip();
+				crc.update(buffer);
+				buffer.clear();
+			}
+		}
+		return crc.getValue();
+	}
+	
+	/**
+	 * A method used to read the snapshot of a text file into a property list through memory mapping.
+	 * Nothing is read if the snapshot is missing, was taken from different content or is damaged.
+	 *
+	 * @param source Text file
+	 * @param attributes Current attributes of the text file
+	 * @param target Target property list
+	 * @return Whether the snapshot was read
+	 * @throws IOException If the snapshot could not be mapped
+	 * @since 1.3.0
+	 */
+	static boolean read(@NotNull Path source, @NotNull BasicFileAttributes attributes, @NotNull Map<String, String> target) throws IOException
+	{
+		Path path = of(source);
+		
+		if (!Files.isRegularFile(path)) {
+			return false;
+		}
+		
+		long size = Files.size(path);
+		
+		if (size < HEADER_SIZE + 8 + CHECKSUM_SIZE || size > Integer.MAX_VALUE) {
+			return false;
+		}
+		
+		try (MappedFile file = new MappedFile(path, Integer.MAX_VALUE)) {
+			ByteBuffer content = file.getChunk(0);
+			int end = content.limit() - CHECKSUM_SIZE;
+			
+			CRC32 crc = new CRC32();
+			crc.update((ByteBuffer) content.duplicate().limit(end));
+			
+			if (crc.getValue() != content.getLong(end) || !isCurrent(content, source, attributes)) {
+				return false;
+			}
+			
+			String[] strings = new String[content.getInt()];
+			int count = content.getInt();
+			
+			for (int i = 0; i < strings.length; i++) {
+				strings[i] = readString(content);
+			}
+			
+			for (int i = 0; i < count; i++) {
+				target.put(strings[readVarInt(content)], strings[readVarInt(content)]);
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,253 @@
+package com.frostdeveloper.api.core;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * A class used to write property lists in the format of {@link java.util.Properties#store(java.io.OutputStream, String)}.
+ * Entries are encoded as ISO 8859-1 straight into a byte buffer that is reused from one list to the next,
+ * printable ASCII characters are copied as they are and only other characters go through escaping. Only
+ * buffers of up to 64KB are kept between lists, see {@link #trim()}.
+ *
+ * @apiNote The output is identical to the output of {@link java.util.Properties#store(java.io.OutputStream, String)},
+ * except that the timestamp line can be left out so that storing the same list always produces the same bytes.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+final class PropertiesWriter
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.ISO_8859_1);
+	private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.ISO_8859_1);
+	private static final int MAX_ESCAPE_LENGTH = 6;
+	private static final int INITIAL_CAPACITY = 8192;
+	private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+	
+	private byte[] buffer = new byte[INITIAL_CAPACITY];
+	private int length;
+	
+	/**
+	 * A method used to render a property list, replacing whatever this writer held before. The caller
+	 * must prevent the list from changing until this method returns.
+	 *
+	 * @param entries Property list
+	 * @param comment A description of the property list, or null
+	 * @param timestamped Whether a timestamp line is written after the comment
+	 * @since 1.3.0
+	 */
+	void write(@NotNull Map<String, String> entries, String comment, boolean timestamped)
+	{
+		length = 0;
+		
+		if (comment != null) {
+			writeComment(comment);
+		}
+		
+		if (timestamped) {
+			writeComment(new Date().toString());
+		}
+		
+		for (Map.Entry<String, String> entry : entries.entrySet()) {
+			writeEscaped(entry.getKey(), true);
+			append('=');
+			writeEscaped(entry.getValue(), false);
+			writeLineSeparator();
+		}
+	}
+	
+	/**
+	 * A method used to return the buffer holding the rendered list, only the first {@link #getLength()}
+	 * bytes belong to it.
+	 *
+	 * @return Render buffer
+	 * @since 1.3.0
+	 */
+	byte[] getBuffer()                       { return buffer;                      }
+	
+	/**
+	 * A method used to return the length of the rendered list.
+	 *
+	 * @return Rendered length in bytes
+	 * @since 1.3.0
+	 */
+	int getLength()                          { return length;                      }
+	
+	/**
+	 * A method used to drop the rendered list once it was written. A buffer grown past 64KB by a large
+	 * list is replaced by a small one, so a single large store does not keep its buffer for as long as
+	 * this writer lives.
+	 *
+	 * @since 1.3.0
+	 */
+	void trim()
+	{
+		length = 0;
+		
+		if (buffer.length > MAX_RETAINED_CAPACITY) {
+			buffer = new byte[INITIAL_CAPACITY];
+		}
+	}
+	
+	/**
+	 * A method used to write a comment, line breaks start a new comment line and characters outside of
+	 * ISO 8859-1 are written as unicode escapes.
+	 *
+	 * @param comment Comment text
+	 * @since 1.3.0
+	 */
+	private void writeComment(String comment)
+	{
+		ensureCapacity(comment.length() * MAX_ESCAPE_LENGTH + 1);
+		append('#');
+		
+		for (int i = 0; i < comment.length(); i++) {
+			char current = comment.charAt(i);
+			
+			if (current > 0xFF) {
+				appendUnicode(current);
+			}
+			else if (current == '\n' || current == '\r') {
+				writeLineSeparator();
+				
+				if (current == '\r' && i + 1 < comment.length() && comment.charAt(i + 1) == '\n') {
+					i++;
+				}
+				
+				if (i == comment.length() - 1 || comment.charAt(i + 1) != '#' && comment.charAt(i + 1) != '!') {
+					ensureCapacity(1);
+					append('#');
+				}
+				ensureCapacity((comment.length() - i) * MAX_ESCAPE_LENGTH);
+			}
+			else {
+				append(current);
+			}
+		}
+		writeLineSeparator();
+	}
+	
+	/**
+	 * A method used to write a key or value, escaping every character that could not be read back as
+	 * it is. Spaces are escaped everywhere in keys, but only at the start of values.
+	 *
+	 * @param value Key or value
+	 * @param key Whether a key is written
+	 * @since 1.3.0
+	 */
+	private void writeEscaped(String value, boolean key)
+	{
+		ensureCapacity(value.length() * MAX_ESCAPE_LENGTH);
+		
+		for (int i = 0; i < value.length(); i++) {
+			char current = value.charAt(i);
+			
+			if (current > '=' && current < 127) {
+				if (current == '\\') {
+					append('\\');
+				}
+				append(current);
+				continue;
+			}
+			
+			switch (current) {
+				case ' ':
+					if (i == 0 || key) {
+						append('\\');
+					}
+					append(' ');
+					break;
+				case '\t':
+					appendEscape('t');
+					break;
+				case '\n':
+					appendEscape('n');
+					break;
+				case '\r':
+					appendEscape('r');
+					break;
+				case '\f':
+					appendEscape('f');
+					break;
+				case '=':
+				case ':':
+				case '#':
+				case '!':
+					appendEscape(current);
+					break;
+				default:
+					if (current < 0x20 || current > 0x7E) {
+						appendUnicode(current);
+					}
+					else {
+						append(current);
+					}
+			}
+		}
+	}
+	
+	/**
+	 * A method used to write a line separator.
+	 *
+	 * @since 1.3.0
+	 */
+	private void writeLineSeparator()
+	{
+		ensureCapacity(LINE_SEPARATOR.length);
+		System.arraycopy(LINE_SEPARATOR, 0, buffer, length, LINE_SEPARATOR.length);
+		length += LINE_SEPARATOR.length;
+	}
+	
+	/**
+	 * A method used to write a character preceded by a backslash.
+	 *
+	 * @param escaped Escaped character
+	 * @since 1.3.0
+	 */
+	private void appendEscape(char escaped)
+	{
+		append('\\');
+		append(escaped);
+	}
+	
+	/**
+	 * A method used to write a character as a unicode escape.
+	 *
+	 * @param current Escaped character
+	 * @since 1.3.0
+	 */
+	private void appendUnicode(char current)
+	{
+		append('\\');
+		append('u');
+		buffer[length++] = HEX[current >> 12 & 0xF];
+		buffer[length++] = HEX[current >> 8 & 0xF];
+		buffer[length++] = HEX[current >> 4 & 0xF];
+		buffer[length++] = HEX[current & 0xF];
+	}
+	
+	/**
+	 * A method used to write a single ISO 8859-1 character, the caller must have ensured the capacity.
+	 *
+	 * @param current Written character
+	 * @since 1.3.0
+	 */
+	private void append(char current)        { buffer[length++] = (byte) current;  }
+	
+	/**
+	 * A method used to grow the buffer so that it can hold an amount of additional bytes.
+	 *
+	 * @param additional Amount of additional bytes
+	 * @since 1.3.0
+	 */
+	private void ensureCapacity(int additional)
+	{
+		if (length + additional > buffer.length) {
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+		}
+	}
+}
@@ -0,0 +1,177 @@
+package com.frostdeveloper.api.handler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A class used to run blocking I/O work off the caller's thread. Every asynchronous method in this api
+ * runs on the executor held by this class, which can be replaced, for example with a virtual thread
+ * executor on newer Java versions.
+ *
+ * @apiNote By default, virtual threads are used when the running Java version supports them, otherwise
+ * a pool of daemon threads is used.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public final class AsyncHandler
+{
+	// CLASS SPECIFIC OBJECTS
+	private static volatile Executor executor;
+	private static volatile ScheduledExecutorService scheduler;
+	
+	private AsyncHandler() {}
+	
+	/**
+	 * A functional interface used to describe blocking work that may fail with a checked exception.
+	 *
+	 * @param <T> Result type
+	 * @since 1.3.0
+	 */
+	@FunctionalInterface
+	public interface Task<T>
+	{
+		/**
+		 * A method used to perform the work.
+		 *
+		 * @return Work result
+		 * @throws Exception If the work failed
+		 * @since 1.3.0
+		 */
+		T call() throws Exception;
+	}
+	
+	/**
+	 * A method used to return the executor asynchronous work runs on.
+	 *
+	 * @return I/O executor
+	 * @since 1.3.0
+	 */
+	public static @NotNull Executor getExecutor()
+	{
+		Executor current = executor;
+		
+		if (current == null) {
+			synchronized (AsyncHandler.class) {
+				if ((current = executor) == null) {
+					executor = current = createDefault();
+				}
+			}
+		}
+		return current;
+	}
+	
+	/**
+	 * A method used to return the scheduler used to delay asynchronous work, it runs on a single
+	 * daemon thread, so scheduled tasks should hand blocking work to {@link #getExecutor()}.
+	 *
+	 * @return Shared scheduler
+	 * @since 1.3.0
+	 */
+	public static @NotNull ScheduledExecutorService getScheduler()
+	{
+		ScheduledExecutorService current = scheduler;
+		
+		if (current == null) {
+			synchronized (AsyncHandler.class) {
+				if ((current = scheduler) == null) {
+					ScheduledThreadPoolExecutor created = new ScheduledThreadPoolExecutor(1, runnable -> {
+						Thread thread = new Thread(runnable, "FrostAPI-Scheduler");
+						thread.setDaemon(true);
+						return thread;
+					});
+					created.setRemoveOnCancelPolicy(true);
+					scheduler = current = created;
+				}
+			}
+		}
+		return current;
+	}
+	
+	/**
+	 * A method used to replace the executor asynchronous work runs on. Work that was already submitted
+	 * keeps running on the previous executor, passing null restores the default executor.
+	 *
+	 * @param replacement New I/O executor
+	 * @since 1.3.0
+	 */
+	public static void setExecutor(Executor replacement)     { executor = replacement;                }
+	
+	/**
+	 * A method used to run blocking work on the I/O executor. If the work throws an exception, the
+	 * returned future completes exceptionally with it.
+	 *
+	 * @param task Blocking work
+	 * @param <T> Result type
+	 * @return Future completed with the work's result
+	 * @since 1.3.0
+	 */
+	public static <T> CompletableFuture<T> supply(@NotNull Task<T> task)
+	{
+		CompletableFuture<T> future = new CompletableFuture<>();
+		
+		try {
+			getExecutor().execute(() -> {
+				try {
+					future.complete(task.call());
+				}
+				catch (Throwable thrown) {
+					future.completeExceptionally(thrown);
+				}
+			});
+		}
+		catch (RejectedExecutionException ex) {
+			future.completeExceptionally(ex);
+		}
+		return future;
+	}
+	
+	/**
+	 * A method used to run blocking work without a result on the I/O executor.
+	 *
+	 * @see #supply(Task)
+	 *
+	 * @param task Blocking work
+	 * @return Future completed once the work is done
+	 * @since 1.3.0
+	 */
+	public static CompletableFuture<Void> run(@NotNull Runnable task)
+	{
+		return supply(() -> {
+			task.run();
+			return null;
+		});
+	}
+	
+	/**
+	 * A method used to create the default executor, a virtual thread per task executor if the running
+	 * Java version supports it, otherwise a pool of daemon threads that shrinks when idle.
+	 *
+	 * @return Default executor
+	 * @since 1.3.0
+	 */
+	private static Executor createDefault()
+	{
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (Executor) factory.invoke(null);
+		}
+		catch (ReflectiveOperationException | RuntimeException ignored) {
+			// VIRTUAL THREADS ARE NOT AVAILABLE
+		}
+		
+		AtomicInteger count = new AtomicInteger();
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+		
+		ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+			Thread thread = new Thread(runnable, "FrostAPI-IO-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		pool.allowCoreThreadTimeOut(true);
+		return pool;
+	}
+}
@@ -0,0 +1,627 @@
+package com.frostdeveloper.api.handler;
+
+import com.frostdeveloper.api.exception.FailedMethodException;
+import com.frostdeveloper.api.utility.CopyEngine;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * A class used to move many indexes as a single transaction. Every move is attempted atomically and
+ * falls back to a copy and delete when the source and destination are on different file systems. The
+ * parent directories of every destination are created once, independent moves run in parallel and if
+ * any move fails, every completed move is rolled back before the failure is reported.
+ *
+ * @apiNote An existing destination is replaced, it is kept aside until the batch completes so it can
+ * be restored on rollback.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class BatchMove
+{
+	// CLASS SPECIFIC OBJECTS
+	private final Map<Path, Path> moves = new LinkedHashMap<>();
+	private final Set<Path> destinations = new HashSet<>();
+	private final int parallelism;
+	
+	/**
+	 * A constructor used to create an empty batch, using one thread per available processor.
+	 *
+	 * @since 1.3.0
+	 */
+	public BatchMove()                            { this(Runtime.getRuntime().availableProcessors()); }
+	
+	/**
+	 * A constructor used to create an empty batch.
+	 *
+	 * @param parallelism Maximum amount of moves performed at the same time
+	 * @since 1.3.0
+	 */
+	public BatchMove(int parallelism)
+	{
+		Validate.isTrue(parallelism > 0, "The parallelism must be greater than zero");
+		this.parallelism = parallelism;
+	}
+	
+	/**
+	 * A method used to add a move to this batch.
+	 *
+	 * @param source Source index
+	 * @param destination Destination index
+	 * @return This batch
+	 * @since 1.3.0
+	 */
+	public BatchMove add(@NotNull File source, @NotNull File destination) { return add(source.toPath(), destination.toPath()); }
+	
+	/**
+	 * A method used to add a move to this batch.
+	 *
+	 * @throws IllegalArgumentException If the source or destination is already used by another move
+	 *
+	 * @param source Source index
+	 * @param destination Destination index
+	 * @return This batch
+	 * @since 1.3.0
+	 */
+	public BatchMove add(@NotNull Path source, @NotNull Path destination)
+	{
+		Validate.notNull(source, "The source cannot be null!");
+		Validate.notNull(destination, "The destination cannot be null!");
+		
+		Path normalizedSource = source.toAbsolutePath().normalize();
+		Path normalizedDestination = destination.toAbsolutePath().normalize();
+		Validate.isFalse(moves.containsKey(normalizedSource), "Two moves cannot share the source " + source);
+		Validate.isFalse(destinations.contains(normalizedDestination), "Two moves cannot share the destination " + destination);
+		
+		moves.put(normalizedSource, normalizedDestination);
+		destinations.add(normalizedDestination);
+		return this;
+	}
+	
+	/**
+	 * A method used to return the amount of moves in this batch.
+	 *
+	 * @return Batch size
+	 * @since 1.3.0
+	 */
+	public int size()                             { return moves.size();                                 }
+	
+	/**
+	 * A method used to perform every move of this batch. Sources that do not exist are skipped. Moves that
+	 * depend on each other, for example moving an index to the previous location of another index, are
+	 * performed one at a time in the order they were added, the other moves are performed in parallel. If any
+	 * move fails, the moves that completed are reverted, the directories created for this batch are
+	 * removed and an exception is thrown.
+	 *
+	 * @throws FailedMethodException If the batch failed, after it has been rolled back
+	 *
+	 * @since 1.3.0
+	 */
+	public void execute()
+	{
+		List<Move> pending = new ArrayList<>();
+		for (Map.Entry<Path, Path> entry : moves.entrySet()) {
+			if (Files.exists(entry.getKey(), LinkOption.NOFOLLOW_LINKS) && !entry.getKey().equals(entry.getValue())) {
+				pending.add(new Move(entry.getKey(), entry.getValue()));
+			}
+		}
+		
+		if (pending.isEmpty()) {
+			return;
+		}
+		
+		Deque<Path> createdDirectories = new ArrayDeque<>();
+		Deque<Move> completed = new ConcurrentLinkedDeque<>();
+		
+		try {
+			createParents(pending, createdDirectories);
+			
+			if (isIndependent(pending) && parallelism > 1 && pending.size() > 1) {
+				runParallel(pending, completed);
+			}
+			else {
+				for (Move move : pending) {
+					move.perform();
+					completed.push(move);
+				}
+			}
+		}
+		catch (IOException | RuntimeException ex) {
+			FailedMethodException failure = new FailedMethodException("Failed to move the batch, {0} moves were rolled back", ex, completed.size());
+			rollback(completed, createdDirectories, failure);
+			throw failure;
+		}
+		
+		for (Move move : completed) {
+			move.commit();
+		}
+	}
+	
+	/**
+	 * A method used to create the missing parent directories of every destination once, remembering
+	 * which directories were created so they can be removed on rollback.
+	 *
+	 * @param pending Pending moves
+	 * @param created Created directories, in creation order
+	 * @throws IOException If a directory could not be created
+	 * @since 1.3.0
+	 */
+	private void createParents(List<Move> pending, Deque<Path> created) throws IOException
+	{
+		Set<Path> parents = new TreeSet<>();
+		for (Move move : pending) {
+			if (move.destination.getParent() != null) {
+				parents.add(move.destination.getParent());
+			}
+		}
+		
+		for (Path parent : parents) {
+			Deque<Path> missing = new ArrayDeque<>();
+			for (Path current = parent; current != null && !Files.exists(current); current = current.getParent()) {
+				missing.push(current);
+			}
+			
+			for (Path directory : missing) {
+				Files.createDirectory(directory);
+				created.push(directory);
+			}
+		}
+	}
+	
+	/**
+	 * A method used to test whether every move of a batch can run in any order, which is the case
+	 * when no move touches an index used by another move.
+	 *
+	 * @param pending Pending moves
+	 * @return Whether the moves are independent
+	 * @since 1.3.0
+	 */
+	private boolean isIndependent(List<Move> pending)
+	{
+		Set<Path> sources = new HashSet<>();
+		for (Move move : pending) {
+			sources.add(move.source);
+		}
+		
+		for (Move move : pending) {
+			for (Path current = move.destination; current != null; current = current.getParent()) {
+				if (sources.contains(current)) {
+					return false;
+				}
+			}
+			
+			for (Path current = move.source.getParent(); current != null; current = current.getParent()) {
+				if (sources.contains(current)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * A method used to perform independent moves on a bounded pool of threads, no new moves are
+	 * started once a move has failed.
+	 *
+	 * @param pending Pending moves
+	 * @param completed Completed moves
+	 * @throws IOException If any move failed
+	 * @since 1.3.0
+	 */
+	private void runParallel(List<Move> pending, Deque<Move> completed) throws IOException
+	{
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, pending.size()), runnable -> {
+			Thread thread = new Thread(runnable, "FrostAPI-BatchMove");
+			thread.setDaemon(true);
+			return thread;
+		});
+		
+		List<Future<?>> futures = new ArrayList<>(pending.size());
+		Throwable failure = null;
+		
+		try {
+			for (Move move : pending) {
+				futures.add(executor.submit(() -> {
+					move.perform();
+					completed.push(move);
+					return null;
+				}));
+			}
+			
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				}
+				catch (ExecutionException ex) {
+					if (failure == null) {
+						failure = ex.getCause();
+						futures.forEach(remaining -> remaining.cancel(false));
+					}
+				}
+				catch (CancellationException ignored) {
+					// CANCELLED AFTER AN EARLIER FAILURE
+				}
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			failure = ex;
+		}
+		finally {
+			executor.shutdown();
+			awaitTermination(executor);
+		}
+		
+		if (failure instanceof IOException) {
+			throw (IOException) failure;
+		}
+		if (failure != null) {
+			throw new FailedMethodException("Failed to move an index", failure);
+		}
+	}
+	
+	/**
+	 * A method used to wait for the running moves to finish, so the rollback sees every completed move.
+	 *
+	 * @param executor Target executor
+	 * @since 1.3.0
+	 */
+	private void awaitTermination(ExecutorService executor)
+	{
+		boolean interrupted = false;
+		while (!executor.isTerminated()) {
+			try {
+				executor.awaitTermination(1, TimeUnit.SECONDS);
+			}
+			catch (InterruptedException ex) {
+				interrupted = true;
+			}
+		}
+		
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+	}
+	
+	/**
+	 * A method used to revert every completed move, newest first, and remove the directories created
+	 * for this batch. Any failure while rolling back is added to the batch failure.
+	 *
+	 * @param completed Completed moves, newest first
+	 * @param created Created directories, newest first
+	 * @param failure Batch failure
+	 * @since 1.3.0
+	 */
+	private void rollback(Deque<Move> completed, Deque<Path> created, FailedMethodException failure)
+	{
+		for (Move move : completed) {
+			try {
+				move.revert();
+			}
+			catch (IOException ex) {
+				failure.addSuppressed(ex);
+			}
+		}
+		
+		for (Path directory : created) {
+			try {
+				Files.deleteIfExists(directory);
+			}
+			catch (IOException ex) {
+				failure.addSuppressed(ex);
+			}
+		}
+	}
+	
+	/*
+	 * MOVING INDEXES
+	 */
+	
+	/**
+	 * A method used to move an index atomically when possible. If the source and destination are on
+	 * different file systems, the index is copied and the source is deleted.
+	 *
+	 * @param source Source index
+	 * @param destination Destination index
+	 * @param options Additional copy options, such as {@link StandardCopyOption#REPLACE_EXISTING}
+	 * @throws IOException If the index could not be moved
+	 * @since 1.3.0
+	 */
+	public static void move(@NotNull Path source, @NotNull Path destination, CopyOption... options) throws IOException
+	{
+		move(source, destination, null, null, options);
+	}
+	
+	/**
+	 * A method used to move an index atomically when possible. If the source and destination are on
+	 * different file systems, the index is copied through a copy engine, limiting the copy to the
+	 * engine's rate and reporting its progress, and the source is deleted.
+	 *
+	 * @apiNote When a directory tree is copied, the progress reports the bytes copied across the whole
+	 * tree and its total is unknown.
+	 *
+	 * @param source Source index
+	 * @param destination Destination index
+	 * @param engine Copy engine, or null to let the file system copy the index
+	 * @param listener Progress listener, or null
+	 * @param options Additional copy options, such as {@link StandardCopyOption#REPLACE_EXISTING}
+	 * @throws IOException If the index could not be moved
+	 * @since 1.3.0
+	 */
+	public static void move(@NotNull Path source, @NotNull Path destination, @Nullable CopyEngine engine, @Nullable CopyEngine.ProgressListener listener, CopyOption... options) throws IOException
+	{
+		boolean replace = Arrays.asList(options).contains(StandardCopyOption.REPLACE_EXISTING);
+		
+		if (!replace && Files.exists(destination, LinkOption.NOFOLLOW_LINKS)) {
+			throw new FileAlreadyExistsException(destination.toString());
+		}
+		
+		// A DIRECTORY CANNOT BE RENAMED OVER A NON-EMPTY DIRECTORY, SO THE DESTINATION IS SET ASIDE INSTEAD
+		if (Files.isDirectory(source, LinkOption.NOFOLLOW_LINKS) && Files.isDirectory(destination, LinkOption.NOFOLLOW_LINKS)) {
+			moveTree(source, destination, engine, listener);
+			return;
+		}
+		
+		try {
+			Files.move(source, destination, StandardCopyOption.ATOMIC_MOVE);
+			return;
+		}
+		catch (AtomicMoveNotSupportedException ex) {
+			if (engine != null && !Files.isSymbolicLink(source)) {
+				transfer(source, destination, engine, listener);
+				return;
+			}
+		}
+		catch (FileAlreadyExistsException ignored) {
+			// THE DESTINATION COULD NOT BE REPLACED ATOMICALLY
+		}
+		
+		try {
+			Files.move(source, destination, options);
+		}
+		catch (DirectoryNotEmptyException ex) {
+			// EITHER THE SOURCE CANNOT BE RENAMED ACROSS FILE SYSTEMS, OR IT CANNOT REPLACE A NON-EMPTY DIRECTORY
+			if (!Files.isDirectory(source, LinkOption.NOFOLLOW_LINKS)) {
+				throw ex;
+			}
+			moveTree(source, destination, engine, listener);
+		}
+	}
+	
+	/**
+	 * A method used to move an index to a different file system through a copy engine.
+	 *
+	 * @param source Source index
+	 * @param destination Destination index
+	 * @param engine Copy engine
+	 * @param listener Progress listener, or null
+	 * @throws IOException If the index could not be moved
+	 * @since 1.3.0
+	 */
+	private static void transfer(Path source, Path destination, CopyEngine engine, CopyEngine.ProgressListener listener) throws IOException
+	{
+		if (Files.isDirectory(source, LinkOption.NOFOLLOW_LINKS)) {
+			moveTree(source, destination, engine, listener);
+			return;
+		}
+		
+		engine.copy(source, destination, listener);
+		Files.setLastModifiedTime(destination, Files.getLastModifiedTime(source));
+		Files.delete(source);
+	}
+	
+	/**
+	 * A method used to move a directory tree, copying it when it cannot be renamed. An existing
+	 * destination is set aside first and only deleted once the tree was moved, it is restored if the
+	 * move fails.
+	 *
+	 * @param source Source directory
+	 * @param destination Destination index
+	 * @param engine Copy engine used for regular files, or null to let the file system copy them
+	 * @param listener Progress listener, or null
+	 * @throws IOException If the tree could not be moved
+	 * @since 1.3.0
+	 */
+	private static void moveTree(Path source, Path destination, CopyEngine engine, CopyEngine.ProgressListener listener) throws IOException
+	{
+		Path backup = null;
+		
+		if (Files.exists(destination, LinkOption.NOFOLLOW_LINKS)) {
+			backup = destination.resolveSibling("." + destination.getFileName() + "." + UUID.randomUUID() + ".bak");
+			Files.move(destination, backup);
+		}
+		
+		boolean copied = false;
+		
+		try {
+			try {
+				Files.move(source, destination);
+			}
+			catch (DirectoryNotEmptyException ex) {
+				// A NON-EMPTY DIRECTORY CANNOT BE RENAMED ACROSS FILE SYSTEMS
+				copied = true;
+				copyTree(source, destination, engine, listener);
+			}
+		}
+		catch (IOException ex) {
+			try {
+				if (copied && Files.exists(destination, LinkOption.NOFOLLOW_LINKS)) {
+					deleteTree(destination);
+				}
+				if (backup != null) {
+					Files.move(backup, destination);
+				}
+			}
+			catch (IOException failure) {
+				ex.addSuppressed(failure);
+			}
+			throw ex;
+		}
+		
+		if (backup != null) {
+			deleteTree(backup);
+		}
+		if (copied) {
+			deleteTree(source);
+		}
+	}
+	
+	/**
+	 * A method used to copy a directory tree to a new location.
+	 *
+	 * @param source Source directory
+	 * @param destination Destination directory
+	 * @param engine Copy engine used for regular files, or null to let the file system copy them
+	 * @param listener Progress listener, or null
+	 * @throws IOException If the tree could not be copied
+	 * @since 1.3.0
+	 */
+	private static void copyTree(Path source, Path destination, CopyEngine engine, CopyEngine.ProgressListener listener) throws IOException
+	{
+		Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+			private long copied;
+			
+			@Override
+			public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException
+			{
+				Files.copy(directory, destination.resolve(source.relativize(directory).toString()), StandardCopyOption.COPY_ATTRIBUTES);
+				return FileVisitResult.CONTINUE;
+			}
+			
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException
+			{
+				Path target = destination.resolve(source.relativize(file).toString());
+				
+				if (engine == null || !attributes.isRegularFile()) {
+					Files.copy(file, target, StandardCopyOption.COPY_ATTRIBUTES, LinkOption.NOFOLLOW_LINKS);
+					return FileVisitResult.CONTINUE;
+				}
+				
+				long offset = copied;
+				copied += engine.copy(file, target, listener == null ? null : (transferred, total) -> listener.onProgress(offset + transferred, -1));
+				Files.setLastModifiedTime(target, attributes.lastModifiedTime());
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+	
+	/**
+	 * A method used to delete a directory tree.
+	 *
+	 * @param source Target directory
+	 * @throws IOException If the tree could not be deleted
+	 * @since 1.3.0
+	 */
+	private static void deleteTree(Path source) throws IOException
+	{
+		Files.walkFileTree(source, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException
+			{
+				Files.delete(file);
+				return FileVisitResult.CONTINUE;
+			}
+			
+			@Override
+			public FileVisitResult postVisitDirectory(Path directory, IOException ex) throws IOException
+			{
+				if (ex != null) {
+					throw ex;
+				}
+				Files.delete(directory);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+	
+	/**
+	 * A class used to hold a single move and the backup of the destination it replaced.
+	 *
+	 * @since 1.3.0
+	 */
+	private static final class Move
+	{
+		private final Path source;
+		private final Path destination;
+		private Path backup;
+		
+		private Move(Path source, Path destination)
+		{
+			this.source = source;
+			this.destination = destination;
+		}
+		
+		/**
+		 * A method used to move the source to its destination, setting an existing destination aside first.
+		 *
+		 * @throws IOException If the index could not be moved
+		 * @since 1.3.0
+		 */
+		private void perform() throws IOException
+		{
+			if (Files.exists(destination, LinkOption.NOFOLLOW_LINKS)) {
+				backup = destination.resolveSibling("." + destination.getFileName() + "." + UUID.randomUUID() + ".bak");
+				move(destination, backup);
+			}
+			
+			try {
+				move(source, destination);
+			}
+			catch (IOException ex) {
+				if (backup != null) {
+					move(backup, destination);
+					backup = null;
+				}
+				throw ex;
+			}
+		}
+		
+		/**
+		 * A method used to move the index back to its source and restore the replaced destination.
+		 *
+		 * @throws IOException If the move could not be reverted
+		 * @since 1.3.0
+		 */
+		private void revert() throws IOException
+		{
+			move(destination, source);
+			
+			if (backup != null) {
+				move(backup, destination);
+				backup = null;
+			}
+		}
+		
+		/**
+		 * A method used to discard the replaced destination once the batch completed.
+		 *
+		 * @since 1.3.0
+		 */
+		private void commit()
+		{
+			if (backup == null) {
+				return;
+			}
+			
+			try {
+				if (Files.isDirectory(backup, LinkOption.NOFOLLOW_LINKS)) {
+					deleteTree(backup);
+				}
+				else {
+					Files.deleteIfExists(backup);
+				}
+			}
+			catch (IOException ex) {
+				ex.printStackTrace();
+			}
+		}
+	}
+}
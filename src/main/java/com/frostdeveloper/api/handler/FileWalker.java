@@ -0,0 +1,351 @@
+package com.frostdeveloper.api.handler;
+
+import com.frostdeveloper.api.core.FileMetadata;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A class used to walk directory trees in parallel. Every directory is listed by its own task on the
+ * I/O executor of {@link AsyncHandler}, or on a given executor, and the matching indexes are handed to
+ * the caller through a lazy stream, so the caller can start consuming results while the rest of the
+ * tree is still being walked.
+ *
+ * @apiNote The returned streams must be closed, closing a stream early stops the walk.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class FileWalker
+{
+	/**
+	 * The type of index a walker should return.
+	 *
+	 * @since 1.3.0
+	 */
+	public enum Type
+	{
+		FILE, DIRECTORY, ANY
+	}
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final Object END = new Object();
+	private static final int QUEUE_CAPACITY = 256;
+	
+	private final Path root;
+	private final Type type;
+	private final int maxDepth;
+	private final String[] extensions;
+	private final Executor pool;
+	
+	/**
+	 * A constructor used to create a walker returning every index below a directory.
+	 *
+	 * @param root Root directory
+	 * @since 1.3.0
+	 */
+	public FileWalker(@NotNull Path root)                                        { this(root, Type.ANY);                            }
+	
+	/**
+	 * A constructor used to create a walker returning every index of a type below a directory. If
+	 * extensions are specified, only files ending with one of these extensions are returned.
+	 *
+	 * @param root Root directory
+	 * @param type Index type
+	 * @param extensions File extensions, with or without their '.' character
+	 * @since 1.3.0
+	 */
+	public FileWalker(@NotNull Path root, Type type, String... extensions)       { this(root, type, Integer.MAX_VALUE, extensions); }
+	
+	/**
+	 * A constructor used to create a walker returning every index of a type below a directory, up to a
+	 * maximum depth. A depth of 1 only returns the direct children of the root.
+	 *
+	 * @param root Root directory
+	 * @param type Index type
+	 * @param maxDepth Maximum depth
+	 * @param extensions File extensions, with or without their '.' character
+	 * @since 1.3.0
+	 */
+	public FileWalker(@NotNull Path root, Type type, int maxDepth, String... extensions)
+	{
+		this(root, type, maxDepth, AsyncHandler.getExecutor(), extensions);
+	}
+	
+	/**
+	 * A constructor used to create a walker that lists directories on a specific executor.
+	 *
+	 * @param root Root directory
+	 * @param type Index type
+	 * @param maxDepth Maximum depth
+	 * @param pool The executor used to list directories
+	 * @param extensions File extensions, with or without their '.' character
+	 * @since 1.3.0
+	 */
+	public FileWalker(@NotNull Path root, Type type, int maxDepth, Executor pool, String... extensions)
+	{
+		Validate.notNull(root, "The root directory cannot be null!");
+		Validate.notNull(type, "The index type cannot be null!");
+		Validate.notNull(pool, "The executor cannot be null!");
+		Validate.isTrue(maxDepth > 0, "The maximum depth must be greater than zero");
+		
+		this.root = root;
+		this.type = type;
+		this.maxDepth = maxDepth;
+		this.pool = pool;
+		this.extensions = new String[extensions.length];
+		
+		for (int i = 0; i < extensions.length; i++) {
+			String extension = extensions[i].toLowerCase(Locale.ROOT);
+			this.extensions[i] = extension.startsWith(".") ? extension : "." + extension;
+		}
+	}
+	
+	/**
+	 * A method used to walk the tree and return the path of every matching index.
+	 *
+	 * @return Stream of matching paths
+	 * @since 1.3.0
+	 */
+	public Stream<Path> stream()               { return metadata().map(FileMetadata::getPath);           }
+	
+	/**
+	 * A method used to walk the tree and return the attributes of every matching index, the attributes
+	 * are the ones read while walking, so no additional file system calls are made.
+	 *
+	 * @return Stream of matching index attributes
+	 * @since 1.3.0
+	 */
+	public Stream<FileMetadata> metadata()
+	{
+		Walk walk = new Walk();
+		walk.submit(root, 1);
+		return StreamSupport.stream(walk, false).onClose(walk::cancel);
+	}
+	
+	/**
+	 * A method used to test whether an index should be returned.
+	 *
+	 * @param name Index name
+	 * @param attributes Index attributes
+	 * @return Whether the index matches
+	 * @since 1.3.0
+	 */
+	private boolean matches(String name, BasicFileAttributes attributes)
+	{
+		if (type == Type.FILE && attributes.isDirectory() || type == Type.DIRECTORY && !attributes.isDirectory()) {
+			return false;
+		}
+		
+		if (extensions.length == 0) {
+			return true;
+		}
+		
+		for (String extension : extensions) {
+			if (name.regionMatches(true, name.length() - extension.length(), extension, 0, extension.length())) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * A class used to hold the state of a single walk, it acts as the stream source and as the
+	 * scheduler of the directory listing tasks.
+	 *
+	 * @since 1.3.0
+	 */
+	private final class Walk extends Spliterators.AbstractSpliterator<FileMetadata>
+	{
+		private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+		private final AtomicInteger pending = new AtomicInteger();
+		private final AtomicReference<IOException> failure = new AtomicReference<>();
+		private volatile boolean cancelled;
+		private Iterator<FileMetadata> batch;
+		
+		private Walk() { super(Long.MAX_VALUE, Spliterator.DISTINCT | Spliterator.NONNULL); }
+		
+		/**
+		 * A method used to schedule the listing of a directory.
+		 *
+		 * @param directory Target directory
+		 * @param depth Depth of the directory's children
+		 * @since 1.3.0
+		 */
+		private void submit(Path directory, int depth)
+		{
+			pending.incrementAndGet();
+			pool.execute(() -> {
+				try {
+					list(directory, depth);
+				}
+				catch (IOException ex) {
+					failed(directory, ex);
+				}
+				catch (DirectoryIteratorException ex) {
+					failed(directory, ex.getCause());
+				}
+				finally {
+					if (pending.decrementAndGet() == 0) {
+						offer(END);
+					}
+				}
+			});
+		}
+		
+		/**
+		 * A method used to record the failure of a directory listing and cancel the walk. A directory
+		 * that disappeared before it was listed is skipped, unless it is the root of the walk.
+		 *
+		 * @param directory Target directory
+		 * @param ex Listing failure
+		 * @since 1.3.0
+		 */
+		private void failed(Path directory, IOException ex)
+		{
+			if (!(ex instanceof NoSuchFileException) || directory == root) {
+				failure.compareAndSet(null, ex);
+				cancelled = true;
+			}
+		}
+		
+		/**
+		 * A method used to list a directory, scheduling its subdirectories and offering every match.
+		 *
+		 * @param directory Target directory
+		 * @param depth Depth of the directory's children
+		 * @throws IOException If the directory could not be opened
+		 * @throws DirectoryIteratorException If the directory could not be read while it was listed
+		 * @since 1.3.0
+		 */
+		private void list(Path directory, int depth) throws IOException
+		{
+			List<FileMetadata> matches = new ArrayList<>();
+			
+			try (DirectoryStream<Path> children = Files.newDirectoryStream(directory)) {
+				for (Path child : children) {
+					if (cancelled) {
+						return;
+					}
+					
+					BasicFileAttributes attributes;
+					try {
+						attributes = Files.readAttributes(child, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+					}
+					catch (NoSuchFileException ex) {
+						continue;
+					}
+					
+					if (attributes.isDirectory() && depth < maxDepth) {
+						submit(child, depth + 1);
+					}
+					
+					if (matches(child.getFileName().toString(), attributes)) {
+						matches.add(new FileMetadata(child, attributes));
+					}
+				}
+			}
+			
+			if (!matches.isEmpty()) {
+				offer(matches);
+			}
+		}
+		
+		/**
+		 * A method used to hand the results of a directory to the consumer, blocking the listing task
+		 * while the queue is full without starving a fork-join pool.
+		 *
+		 * @param element Directory results
+		 * @since 1.3.0
+		 */
+		private void offer(Object element)
+		{
+			try {
+				ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+					private boolean offered;
+					
+					@Override public boolean block() throws InterruptedException
+					{
+						while (!offered && !(cancelled && element != END)) {
+							offered = queue.offer(element, 100, TimeUnit.MILLISECONDS);
+						}
+						return true;
+					}
+					
+					@Override public boolean isReleasable()
+					{
+						return offered || cancelled && element != END || (offered = queue.offer(element));
+					}
+				});
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				cancelled = true;
+			}
+		}
+		
+		@Override
+		@SuppressWarnings ("unchecked")
+		public boolean tryAdvance(Consumer<? super FileMetadata> action)
+		{
+			if (batch != null && batch.hasNext()) {
+				action.accept(batch.next());
+				return true;
+			}
+			
+			Object element;
+			try {
+				element = queue.take();
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				cancel();
+				return false;
+			}
+			
+			if (element == END) {
+				queue.offer(END);
+				
+				IOException ex = failure.get();
+				if (ex != null) {
+					throw new UncheckedIOException(ex);
+				}
+				return false;
+			}
+			
+			batch = ((List<FileMetadata>) element).iterator();
+			action.accept(batch.next());
+			return true;
+		}
+		
+		/**
+		 * A method used to stop the walk and release any task waiting on the queue.
+		 *
+		 * @since 1.3.0
+		 */
+		private void cancel()
+		{
+			cancelled = true;
+			queue.clear();
+		}
+	}
+}
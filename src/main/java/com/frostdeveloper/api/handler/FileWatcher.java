@@ -0,0 +1,292 @@
+package com.frostdeveloper.api.handler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A class used to watch files for changes. Every watched file shares a single {@link WatchService}
+ * and a single daemon thread, the parent directory of a file is registered once no matter how many
+ * listeners watch files inside of it. When a watched directory is deleted, its parent is watched
+ * instead until the directory is created again, then the directory is watched again.
+ *
+ * @apiNote Listeners are called on the watcher thread, they should hand any blocking work to
+ * {@link AsyncHandler#getExecutor()}. A listener may be called more than once for a single change.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public final class FileWatcher
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final Map<Path, List<Runnable>> LISTENERS = new ConcurrentHashMap<>();
+	private static final Map<Path, WatchKey> KEYS = new ConcurrentHashMap<>();
+	private static final Map<Path, Path> DELETED = new ConcurrentHashMap<>();
+	private static WatchService service;
+	
+	private FileWatcher() {}
+	
+	/**
+	 * A method used to call a listener whenever a file is created, modified or replaced.
+	 *
+	 * @apiNote If the parent directory of the file is deleted and created again, the listener is called
+	 * once the directory is watched again. If the directory's own parent is deleted as well, the
+	 * listener is only called again after this method is called for a file inside of the directory.
+	 *
+	 * @param file Watched file
+	 * @param listener Change listener
+	 * @return A registration that stops calling the listener once closed
+	 * @throws IOException If the parent directory of the file could not be watched
+	 * @since 1.3.0
+	 */
+	public static @NotNull Closeable watch(@NotNull Path file, @NotNull Runnable listener) throws IOException
+	{
+		Validate.notNull(file, "The watched file cannot be null!");
+		Validate.notNull(listener, "The listener cannot be null!");
+		
+		Path target = file.toAbsolutePath().normalize();
+		Path directory = target.getParent();
+		
+		synchronized (FileWatcher.class) {
+			register(directory);
+			restored(directory);
+			LISTENERS.computeIfAbsent(target, path -> new CopyOnWriteArrayList<>()).add(listener);
+		}
+		
+		return () -> {
+			synchronized (FileWatcher.class) {
+				List<Runnable> listeners = LISTENERS.get(target);
+				
+				if (listeners != null && listeners.remove(listener) && listeners.isEmpty()) {
+					LISTENERS.remove(target);
+					release(directory);
+				}
+			}
+		};
+	}
+	
+	/**
+	 * A method used to watch a directory, unless it is already watched. The caller must hold the
+	 * lock of this class.
+	 *
+	 * @param directory Target directory
+	 * @throws IOException If the directory could not be watched
+	 * @since 1.3.0
+	 */
+	private static void register(Path directory) throws IOException
+	{
+		WatchKey key = KEYS.get(directory);
+		
+		if (key == null || !key.isValid()) {
+			KEYS.put(directory, directory.register(getService(), StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY));
+		}
+	}
+	
+	/**
+	 * A method used to stop watching a directory once no listener watches a file inside of it and no
+	 * deleted directory inside of it is awaited, the caller must hold the lock of this class.
+	 *
+	 * @param directory Watched directory
+	 * @since 1.3.0
+	 */
+	private static void release(Path directory)
+	{
+		if (hasListeners(directory)) {
+			return;
+		}
+		restored(directory);
+		
+		if (!DELETED.containsValue(directory)) {
+			WatchKey key = KEYS.remove(directory);
+			
+			if (key != null) {
+				key.cancel();
+			}
+		}
+	}
+	
+	/**
+	 * A method used to stop waiting for a deleted directory to be created again, the caller must hold
+	 * the lock of this class.
+	 *
+	 * @param directory Deleted directory
+	 * @since 1.3.0
+	 */
+	private static void restored(Path directory)
+	{
+		Path parent = DELETED.remove(directory);
+		
+		if (parent != null) {
+			release(parent);
+		}
+	}
+	
+	/**
+	 * A method used to test whether a listener watches a file inside of a directory.
+	 *
+	 * @param directory Target directory
+	 * @return Whether the directory has listeners
+	 * @since 1.3.0
+	 */
+	private static boolean hasListeners(Path directory)
+	{
+		for (Path file : LISTENERS.keySet()) {
+			if (directory.equals(file.getParent())) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/**
+	 * A method used to watch a directory again once its key was invalidated, which happens when the
+	 * directory is deleted. If the directory does not exist, its parent is watched until it is created
+	 * again. Once the directory is watched again, its listeners are called, since its files may have
+	 * been created again as well.
+	 *
+	 * @param directory Watched directory
+	 * @since 1.3.0
+	 */
+	private static void rewatch(Path directory)
+	{
+		synchronized (FileWatcher.class) {
+			if (!hasListeners(directory)) {
+				restored(directory);
+				return;
+			}
+			
+			try {
+				register(directory);
+			}
+			catch (IOException ex) {
+				Path parent = directory.getParent();
+				
+				if (parent == null || DELETED.containsKey(directory)) {
+					return;
+				}
+				
+				try {
+					register(parent);
+					DELETED.put(directory, parent);
+				}
+				catch (IOException ignored) {
+					// THE PARENT IS GONE TOO, THE DIRECTORY IS WATCHED AGAIN BY THE NEXT CALL TO WATCH
+					return;
+				}
+				
+				// THE DIRECTORY MAY HAVE BEEN CREATED BEFORE ITS PARENT WAS WATCHED
+				if (!Files.isDirectory(directory)) {
+					return;
+				}
+				
+				try {
+					register(directory);
+				}
+				catch (IOException ignored) {
+					return;
+				}
+			}
+			restored(directory);
+		}
+		
+		LISTENERS.forEach((file, listeners) -> {
+			if (directory.equals(file.getParent())) {
+				dispatch(listeners);
+			}
+		});
+	}
+	
+	/**
+	 * A method used to return the shared watch service, starting the watcher thread the first time.
+	 *
+	 * @return Shared watch service
+	 * @throws IOException If the watch service could not be created
+	 * @since 1.3.0
+	 */
+	private static WatchService getService() throws IOException
+	{
+		if (service == null) {
+			service = FileSystems.getDefault().newWatchService();
+			
+			Thread thread = new Thread(FileWatcher::run, "FrostAPI-Watcher");
+			thread.setDaemon(true);
+			thread.start();
+		}
+		return service;
+	}
+	
+	/**
+	 * A method used to dispatch the events of the watch service until the JVM exits.
+	 *
+	 * @since 1.3.0
+	 */
+	private static void run()
+	{
+		while (true) {
+			WatchKey key;
+			try {
+				key = service.take();
+			}
+			catch (InterruptedException | ClosedWatchServiceException ex) {
+				return;
+			}
+			
+			Path directory = (Path) key.watchable();
+			
+			for (WatchEvent<?> event : key.pollEvents()) {
+				if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+					LISTENERS.forEach((file, listeners) -> {
+						if (directory.equals(file.getParent())) {
+							dispatch(listeners);
+						}
+					});
+					DELETED.forEach((deleted, parent) -> {
+						if (directory.equals(parent) && Files.isDirectory(deleted)) {
+							rewatch(deleted);
+						}
+					});
+				}
+				else {
+					Path child = directory.resolve((Path) event.context());
+					List<Runnable> listeners = LISTENERS.get(child);
+					
+					if (listeners != null) {
+						dispatch(listeners);
+					}
+					if (DELETED.containsKey(child)) {
+						rewatch(child);
+					}
+				}
+			}
+			
+			if (!key.reset()) {
+				KEYS.remove(directory, key);
+				rewatch(directory);
+			}
+		}
+	}
+	
+	/**
+	 * A method used to call every listener of a file, a failing listener does not stop the others.
+	 *
+	 * @param listeners File listeners
+	 * @since 1.3.0
+	 */
+	private static void dispatch(List<Runnable> listeners)
+	{
+		for (Runnable listener : listeners) {
+			try {
+				listener.run();
+			}
+			catch (RuntimeException ex) {
+				ex.printStackTrace();
+			}
+		}
+	}
+}
@@ -8,6 +8,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * A class used to handle exception reporting and logs our caught exception to a file.
@@ -60,14 +61,60 @@ public class Report
 	 * @see #create(Throwable)
 	 */
 	public void create(@NotNull Throwable thrown, boolean silent)
+	{
+		try {
+			write(thrown, silent);
+		}
+		catch (IOException ex) {
+			ex.printStackTrace();
+		}
+	}
+	
+	/**
+	 * A method used to create our report without blocking the calling thread, the report is
+	 * written on the executor of {@link AsyncHandler}.
+	 *
+	 * @see #create(Throwable, boolean)
+	 *
+	 * @param thrown Exception caught
+	 * @param silent Whether the stacktrace should print silently.
+	 * @return A future completed once the report is written, or completed exceptionally if it failed
+	 * @since 1.3.0
+	 */
+	public CompletableFuture<Void> createAsync(@NotNull Throwable thrown, boolean silent)
+	{
+		return AsyncHandler.supply(() -> {
+			write(thrown, silent);
+			return null;
+		});
+	}
+	
+	/**
+	 * A method used to create our report without blocking the calling thread. By default, this method
+	 * will not print the exception's stacktrace silently.
+	 *
+	 * @see #createAsync(Throwable, boolean)
+	 *
+	 * @param thrown Exception caught
+	 * @return A future completed once the report is written, or completed exceptionally if it failed
+	 * @since 1.3.0
+	 */
+	public CompletableFuture<Void> createAsync(@NotNull Throwable thrown) { return createAsync(thrown, false); }
+	
+	/**
+	 * A method used to append our report to the output file.
+	 *
+	 * @param thrown Exception caught
+	 * @param silent Whether the stacktrace should print silently.
+	 * @throws IOException If the report could not be written
+	 * @since 1.3.0
+	 */
+	private void write(@NotNull Throwable thrown, boolean silent) throws IOException
 	{
 		Validate.notNull(output, "Please specify an output file for the report");
 		api.createParent(output);
 		
-		try {
-			FileWriter writer = new FileWriter(output, true);
-			PrintWriter printer = new PrintWriter(writer);
-			
+		try (FileWriter writer = new FileWriter(output, true); PrintWriter printer = new PrintWriter(writer)) {
 			printer.println("Date Created: " + api.getTodayAsString());
 			printer.println("");
 			
@@ -84,15 +131,10 @@ public class Report
 			printer.println("");
 			printer.println("Exception:");
 			thrown.printStackTrace(printer);
-			writer.close();
-			printer.close();
-			
-			if (!silent) {
-				thrown.printStackTrace();
-			}
 		}
-		catch (IOException ex) {
-			ex.printStackTrace();
+		
+		if (!silent) {
+			thrown.printStackTrace();
 		}
 	}
 	
@@ -0,0 +1,330 @@
+package com.frostdeveloper.api.handler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A class used to cache resources loaded from a class loader. The contents of small resources are kept
+ * in a least-recently-used cache bounded by the total amount of bytes held, resource urls are kept once
+ * resolved and names that could not be found are remembered so the class path is not scanned for them
+ * again.
+ *
+ * @apiNote This class is safe to use from multiple threads.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class ResourceCache
+{
+	/**
+	 * The default amount of bytes a cache may hold.
+	 *
+	 * @since 1.3.0
+	 */
+	public static final long DEFAULT_CAPACITY = 8L * 1024 * 1024;
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final int MAX_MISSING = 1024;
+	
+	private final ClassLoader loader;
+	private final long capacity;
+	private final long maxEntrySize;
+	
+	private final LinkedHashMap<String, byte[]> contents = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<String, URL> urls = new ConcurrentHashMap<>();
+	private final Set<String> missing = ConcurrentHashMap.newKeySet();
+	private long size;
+	
+	// STATISTICS
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+	
+	/**
+	 * A constructor used to create a resource cache for a class loader using the default capacity.
+	 *
+	 * @param loader Target class loader
+	 * @since 1.3.0
+	 */
+	public ResourceCache(ClassLoader loader)                { this(loader, DEFAULT_CAPACITY);        }
+	
+	/**
+	 * A constructor used to create a resource cache for a class loader. A single resource is only cached
+	 * if it fits in an eighth of the capacity, larger resources are always streamed from the class loader.
+	 *
+	 * @param loader Target class loader
+	 * @param capacity Maximum amount of bytes held by this cache
+	 * @since 1.3.0
+	 */
+	public ResourceCache(ClassLoader loader, long capacity)
+	{
+		Validate.notNull(loader, "The class loader cannot be null!");
+		Validate.isTrue(capacity >= 0, "The cache capacity cannot be negative");
+		
+		this.loader = loader;
+		this.capacity = capacity;
+		this.maxEntrySize = capacity / 8;
+	}
+	
+	/**
+	 * A method used to return the url of a resource, if the resource cannot be found
+	 * this method will return null.
+	 *
+	 * @param name Resource name
+	 * @return Resource url
+	 * @since 1.3.0
+	 */
+	public URL getURL(@NotNull String name)
+	{
+		URL url = urls.get(name);
+		
+		if (url != null || missing.contains(name)) {
+			hits.increment();
+			return url;
+		}
+		
+		misses.increment();
+		return resolve(name);
+	}
+	
+	/**
+	 * A method used to resolve a resource url through the class loader and remember the result.
+	 *
+	 * @param name Resource name
+	 * @return Resource url
+	 * @since 1.3.0
+	 */
+	private URL resolve(String name)
+	{
+		URL url = loader.getResource(name);
+		
+		if (url == null) {
+			if (missing.size() >= MAX_MISSING) {
+				missing.clear();
+			}
+			missing.add(name);
+			return null;
+		}
+		urls.put(name, url);
+		return url;
+	}
+	
+	/**
+	 * A method used to open a stream for a resource. If the resource contents are cached, the stream
+	 * is served from memory, otherwise the resource is read from the class loader and cached if it is
+	 * small enough. If the resource cannot be found, this method will return null.
+	 *
+	 * @param name Resource name
+	 * @return An input stream for reading the resource
+	 * @throws IOException If the resource could not be read
+	 * @since 1.3.0
+	 */
+	public InputStream open(@NotNull String name) throws IOException
+	{
+		byte[] cached;
+		synchronized (contents) {
+			cached = contents.get(name);
+		}
+		
+		if (cached != null) {
+			hits.increment();
+			return new ByteArrayInputStream(cached);
+		}
+		
+		URL url = urls.get(name);
+		
+		if (url == null && missing.contains(name)) {
+			hits.increment();
+			return null;
+		}
+		
+		misses.increment();
+		
+		if (url == null && (url = resolve(name)) == null) {
+			return null;
+		}
+		
+		URLConnection connection = url.openConnection();
+		long length = connection.getContentLengthLong();
+		InputStream input = connection.getInputStream();
+		
+		if (length < 0 || length > maxEntrySize) {
+			return input;
+		}
+		
+		try (InputStream stream = input) {
+			ByteArrayOutputStream output = new ByteArrayOutputStream((int) length);
+			byte[] buf = new byte[8192]; int read;
+			while ((read = stream.read(buf)) > 0) {
+				output.write(buf, 0, read);
+			}
+			cached = output.toByteArray();
+		}
+		
+		put(name, cached);
+		return new ByteArrayInputStream(cached);
+	}
+	
+	/**
+	 * A method used to add resource contents to the cache, evicting the least recently used
+	 * resources until the cache fits its capacity again.
+	 *
+	 * @param name Resource name
+	 * @param data Resource contents
+	 * @since 1.3.0
+	 */
+	private void put(String name, byte[] data)
+	{
+		synchronized (contents) {
+			byte[] previous = contents.put(name, data);
+			size += data.length - (previous != null ? previous.length : 0);
+			
+			Iterator<byte[]> iterator = contents.values().iterator();
+			while (size > capacity && iterator.hasNext()) {
+				size -= iterator.next().length;
+				iterator.remove();
+				evictions.increment();
+			}
+		}
+	}
+	
+	/**
+	 * A method used to remove a resource from every part of the cache.
+	 *
+	 * @param name Resource name
+	 * @since 1.3.0
+	 */
+	public void invalidate(String name)
+	{
+		synchronized (contents) {
+			byte[] previous = contents.remove(name);
+			if (previous != null) {
+				size -= previous.length;
+			}
+		}
+		urls.remove(name);
+		missing.remove(name);
+	}
+	
+	/**
+	 * Removes all the resources held by this cache.
+	 *
+	 * @since 1.3.0
+	 */
+	public void clear()
+	{
+		synchronized (contents) {
+			contents.clear();
+			size = 0;
+		}
+		urls.clear();
+		missing.clear();
+	}
+	
+	/**
+	 * A method used to return a snapshot of this cache's statistics.
+	 *
+	 * @return Cache statistics
+	 * @since 1.3.0
+	 */
+	public Statistics getStatistics()
+	{
+		synchronized (contents) {
+			return new Statistics(hits.sum(), misses.sum(), evictions.sum(), contents.size(), size);
+		}
+	}
+	
+	/**
+	 * A class used to hold a snapshot of a cache's statistics.
+	 *
+	 * @since 1.3.0
+	 */
+	public static final class Statistics
+	{
+		private final long hits;
+		private final long misses;
+		private final long evictions;
+		private final int entries;
+		private final long size;
+		
+		private Statistics(long hits, long misses, long evictions, int entries, long size)
+		{
+			this.hits = hits;
+			this.misses = misses;
+			this.evictions = evictions;
+			this.entries = entries;
+			this.size = size;
+		}
+		
+		/**
+		 * A method used to return the amount of lookups served by the cache.
+		 *
+		 * @return Cache hits
+		 * @since 1.3.0
+		 */
+		public long getHits()         { return hits;                                      }
+		
+		/**
+		 * A method used to return the amount of lookups that had to scan the class loader.
+		 *
+		 * @return Cache misses
+		 * @since 1.3.0
+		 */
+		public long getMisses()       { return misses;                                    }
+		
+		/**
+		 * A method used to return the amount of resources removed to respect the capacity.
+		 *
+		 * @return Cache evictions
+		 * @since 1.3.0
+		 */
+		public long getEvictions()    { return evictions;                                 }
+		
+		/**
+		 * A method used to return the amount of resources whose contents are cached.
+		 *
+		 * @return Cached resources
+		 * @since 1.3.0
+		 */
+		public int getEntries()       { return entries;                                   }
+		
+		/**
+		 * A method used to return the amount of bytes held by the cache.
+		 *
+		 * @return Cached bytes
+		 * @since 1.3.0
+		 */
+		public long getSize()         { return size;                                      }
+		
+		/**
+		 * A method used to return the ratio of lookups served by the cache.
+		 *
+		 * @return Hit rate, between 0 and 1
+		 * @since 1.3.0
+		 */
+		public double getHitRate()
+		{
+			long total = hits + misses;
+			return total == 0 ? 0 : (double) hits / total;
+		}
+		
+		@Override
+		public String toString()
+		{
+			return "Statistics{hits=" + hits + ", misses=" + misses + ", evictions=" + evictions
+					+ ", entries=" + entries + ", size=" + size + "}";
+		}
+	}
+}
@@ -0,0 +1,323 @@
+package com.frostdeveloper.api.handler;
+
+import com.frostdeveloper.api.exception.FailedMethodException;
+import com.frostdeveloper.api.utility.ContentDigest;
+import com.frostdeveloper.api.utility.FileTransfer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A class used to extract every resource sharing a name prefix out of a jar or class path directory.
+ * The source is enumerated once and the matching resources are written in parallel on a bounded
+ * pool of threads.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class ResourceExtractor
+{
+	// CLASS SPECIFIC OBJECTS
+	private final Path source;
+	private final int parallelism;
+	private final int bufferSize;
+	
+	/**
+	 * A constructor used to create an extractor for the jar or class path directory a class was loaded
+	 * from, using one thread per available processor.
+	 *
+	 * @param owner A class loaded from the source
+	 * @since 1.3.0
+	 */
+	public ResourceExtractor(@NotNull Class<?> owner)
+	{
+		this(owner, Runtime.getRuntime().availableProcessors(), FileTransfer.DEFAULT_BUFFER_SIZE);
+	}
+	
+	/**
+	 * A constructor used to create an extractor for the jar or class path directory a class was loaded from.
+	 *
+	 * @param owner A class loaded from the source
+	 * @param parallelism Maximum amount of resources written at the same time
+	 * @param bufferSize Size of the copy buffer used by each thread
+	 * @since 1.3.0
+	 */
+	public ResourceExtractor(@NotNull Class<?> owner, int parallelism, int bufferSize)
+	{
+		this(locate(owner), parallelism, bufferSize);
+	}
+	
+	/**
+	 * A constructor used to create an extractor for a jar file or class path directory.
+	 *
+	 * @param source The jar file or directory holding the resources
+	 * @param parallelism Maximum amount of resources written at the same time
+	 * @param bufferSize Size of the copy buffer used by each thread
+	 * @since 1.3.0
+	 */
+	public ResourceExtractor(Path source, int parallelism, int bufferSize)
+	{
+		Validate.notNull(source, "The resource source cannot be null!");
+		Validate.isTrue(parallelism > 0, "The parallelism must be greater than zero");
+		Validate.isTrue(bufferSize > 0, "The buffer size must be greater than zero");
+		
+		this.source = source;
+		this.parallelism = parallelism;
+		this.bufferSize = bufferSize;
+	}
+	
+	/**
+	 * A method used to extract every resource whose name starts with a prefix into a directory, each
+	 * resource keeps its full name relative to the directory, just like {@code FrostAPI#saveResource}.
+	 * If replace is enabled, a resource is only rewritten when its content differs from the existing copy.
+	 *
+	 * @throws FailedMethodException If any resource failed to extract
+	 *
+	 * @param targetDir Target directory
+	 * @param prefix Resource name prefix, an empty prefix extracts every resource
+	 * @param replace Whether existing copies should be replaced
+	 * @return The amount of resources written
+	 * @since 1.3.0
+	 */
+	public int extract(@NotNull File targetDir, @NotNull String prefix, boolean replace)
+	{
+		String normalized = prefix.startsWith("/") ? prefix.substring(1) : prefix;
+		
+		try {
+			if (Files.isDirectory(source)) {
+				return extractDirectory(targetDir.toPath(), normalized, replace);
+			}
+			
+			try (JarFile jar = new JarFile(source.toFile())) {
+				return extractJar(jar, targetDir.toPath(), normalized, replace);
+			}
+		}
+		catch (IOException ex) {
+			throw new FailedMethodException("Failed to read the resources from ({0})", ex, source);
+		}
+	}
+	
+	/**
+	 * A method used to extract the matching resources of a jar file.
+	 *
+	 * @param jar Source jar
+	 * @param targetDir Target directory
+	 * @param prefix Resource name prefix
+	 * @param replace Whether existing copies should be replaced
+	 * @return The amount of resources written
+	 * @since 1.3.0
+	 */
+	private int extractJar(JarFile jar, Path targetDir, String prefix, boolean replace)
+	{
+		Map<Path, JarEntry> entries = new LinkedHashMap<>();
+		Enumeration<JarEntry> enumeration = jar.entries();
+		
+		while (enumeration.hasMoreElements()) {
+			JarEntry entry = enumeration.nextElement();
+			if (!entry.isDirectory() && entry.getName().startsWith(prefix)) {
+				entries.put(resolve(targetDir, entry.getName()), entry);
+			}
+		}
+		
+		return run(entries.keySet(), target -> {
+			JarEntry entry = entries.get(target);
+			
+			if (Files.exists(target) && (!replace || ContentDigest.matches(target, entry.getSize(), entry.getCrc()))) {
+				return false;
+			}
+			
+			try (InputStream input = jar.getInputStream(entry)) {
+				FileTransfer.copy(input, target, bufferSize);
+			}
+			return true;
+		});
+	}
+	
+	/**
+	 * A method used to resolve the location of a jar entry inside the target directory. Entry names
+	 * come from the jar itself, so a name climbing out of the directory through ".." is rejected.
+	 *
+	 * @throws FailedMethodException If the entry would be written outside of the target directory
+	 *
+	 * @param targetDir Target directory
+	 * @param name Entry name
+	 * @return Entry location
+	 * @since 1.3.0
+	 */
+	private static Path resolve(Path targetDir, String name)
+	{
+		Path root = targetDir.toAbsolutePath().normalize();
+		Path target = root.resolve(name).normalize();
+		
+		if (!target.startsWith(root) || target.equals(root)) {
+			throw new FailedMethodException("The jar entry ({0}) points outside of ({1})", name, root);
+		}
+		return target;
+	}
+	
+	/**
+	 * A method used to extract the matching resources of a class path directory.
+	 *
+	 * @param targetDir Target directory
+	 * @param prefix Resource name prefix
+	 * @param replace Whether existing copies should be replaced
+	 * @return The amount of resources written
+	 * @throws IOException If the directory could not be walked
+	 * @since 1.3.0
+	 */
+	private int extractDirectory(Path targetDir, String prefix, boolean replace) throws IOException
+	{
+		Map<Path, Path> entries;
+		
+		try (Stream<Path> walk = Files.walk(source)) {
+			entries = walk.filter(Files::isRegularFile)
+					.filter(path -> name(path).startsWith(prefix))
+					.collect(Collectors.toMap(path -> targetDir.resolve(name(path)), path -> path, (a, b) -> a, LinkedHashMap::new));
+		}
+		
+		return run(entries.keySet(), target -> {
+			Path resource = entries.get(target);
+			
+			if (Files.exists(target) && (!replace || ContentDigest.matches(target, resource))) {
+				return false;
+			}
+			
+			FileTransfer.copy(resource, target);
+			return true;
+		});
+	}
+	
+	/**
+	 * A method used to return the resource name of a file inside the class path directory.
+	 *
+	 * @param path Resource path
+	 * @return Resource name
+	 * @since 1.3.0
+	 */
+	private String name(Path path)      { return source.relativize(path).toString().replace(File.separatorChar, '/'); }
+	
+	/**
+	 * A functional interface used to extract a single resource.
+	 *
+	 * @since 1.3.0
+	 */
+	@FunctionalInterface
+	private interface Task
+	{
+		/**
+		 * A method used to extract a resource to its target path.
+		 *
+		 * @param target Target path
+		 * @return Whether the resource was written
+		 * @throws IOException If an I/O error occurs
+		 * @since 1.3.0
+		 */
+		boolean extract(Path target) throws IOException;
+	}
+	
+	/**
+	 * A method used to create the parent directories of every target once and then run the
+	 * extraction of each target on the thread pool.
+	 *
+	 * @param targets Target paths
+	 * @param task Extraction task
+	 * @return The amount of resources written
+	 * @since 1.3.0
+	 */
+	private int run(Collection<Path> targets, Task task)
+	{
+		if (targets.isEmpty()) {
+			return 0;
+		}
+		
+		try {
+			for (Path parent : targets.stream().map(Path::getParent).collect(Collectors.toSet())) {
+				Files.createDirectories(parent);
+			}
+		}
+		catch (IOException ex) {
+			throw new FailedMethodException("Failed to create the parent directories for our resources.", ex);
+		}
+		
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, targets.size()), runnable -> {
+			Thread thread = new Thread(runnable, "FrostAPI-ResourceExtractor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		
+		AtomicInteger written = new AtomicInteger();
+		List<Future<?>> futures = new ArrayList<>(targets.size());
+		
+		try {
+			for (Path target : targets) {
+				futures.add(executor.submit(() -> {
+					if (task.extract(target)) {
+						written.incrementAndGet();
+					}
+					return null;
+				}));
+			}
+			
+			FailedMethodException failure = null;
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				}
+				catch (ExecutionException ex) {
+					if (failure == null) {
+						failure = new FailedMethodException("Failed to extract one or more resources", ex.getCause());
+					}
+					else {
+						failure.addSuppressed(ex.getCause());
+					}
+				}
+			}
+			
+			if (failure != null) {
+				throw failure;
+			}
+			return written.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new FailedMethodException("Interrupted while extracting resources", ex);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+	
+	/**
+	 * A method used to return the jar file or directory a class was loaded from.
+	 *
+	 * @param owner Target class
+	 * @return Class source location
+	 * @since 1.3.0
+	 */
+	private static Path locate(Class<?> owner)
+	{
+		CodeSource codeSource = owner.getProtectionDomain().getCodeSource();
+		Validate.notNull(codeSource, "The source of " + owner.getName() + " is unknown");
+		
+		try {
+			return Paths.get(codeSource.getLocation().toURI());
+		}
+		catch (URISyntaxException ex) {
+			throw new FailedMethodException("Failed to locate the source of ({0})", ex, owner.getName());
+		}
+	}
+}
@@ -0,0 +1,203 @@
+package com.frostdeveloper.api.utility;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * A class used to compare content without keeping it in memory. Content is digested as a streaming
+ * CRC-32 checksum, the same checksum stored by jar entries, so the checksum of a packaged resource can
+ * be compared against a file without reading the resource at all.
+ *
+ * @apiNote A checksum is only used to decide whether a file should be rewritten, sizes are always
+ * compared first, so a digest is only calculated when both sizes are equal. When both sides have to be
+ * read anyway, their bytes are compared instead, so a checksum collision can never skip a rewrite.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public final class ContentDigest
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final int BUFFER_SIZE = 16 * 1024;
+	private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+	private static final ThreadLocal<byte[]> COMPARE_BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE * 2]);
+	
+	private ContentDigest() {}
+	
+	/**
+	 * A method used to calculate the checksum of part of an array.
+	 *
+	 * @param content Content array
+	 * @param offset Content offset
+	 * @param length Content length
+	 * @return CRC-32 checksum
+	 * @since 1.3.0
+	 */
+	public static long of(@NotNull byte[] content, int offset, int length)
+	{
+		CRC32 crc = new CRC32();
+		crc.update(content, offset, length);
+		return crc.getValue();
+	}
+	
+	/**
+	 * A method used to calculate the checksum of every remaining byte of a stream. The stream is not
+	 * closed by this method.
+	 *
+	 * @param input Content stream
+	 * @return CRC-32 checksum
+	 * @throws IOException If the stream could not be read
+	 * @since 1.3.0
+	 */
+	public static long of(@NotNull InputStream input) throws IOException
+	{
+		CRC32 crc = new CRC32();
+		byte[] buffer = BUFFER.get();
+		
+		for (int read; (read = input.read(buffer)) != -1; ) {
+			crc.update(buffer, 0, read);
+		}
+		return crc.getValue();
+	}
+	
+	/**
+	 * A method used to calculate the checksum of a file.
+	 *
+	 * @param path Target file
+	 * @return CRC-32 checksum
+	 * @throws IOException If the file could not be read
+	 * @since 1.3.0
+	 */
+	public static long of(@NotNull Path path) throws IOException
+	{
+		try (InputStream input = Files.newInputStream(path)) {
+			return of(input);
+		}
+	}
+	
+	/**
+	 * A method used to test whether a file holds content of a known size and checksum. If the file
+	 * does not exist, or the size or checksum is unknown, this method will return false.
+	 *
+	 * @param path Target file
+	 * @param size Expected size, or -1 if unknown
+	 * @param checksum Expected CRC-32 checksum, or -1 if unknown
+	 * @return Whether the file content is identical
+	 * @throws IOException If the file could not be read
+	 * @since 1.3.0
+	 */
+	public static boolean matches(@NotNull Path path, long size, long checksum) throws IOException
+	{
+		if (size < 0 || checksum < 0 || !Files.isRegularFile(path) || Files.size(path) != size) {
+			return false;
+		}
+		return of(path) == checksum;
+	}
+	
+	/**
+	 * A method used to test whether two files hold the same content. The sizes are compared first, the
+	 * content is only compared if both sizes are equal.
+	 *
+	 * @param path Target file
+	 * @param source Source file
+	 * @return Whether the file content is identical
+	 * @throws IOException If either file could not be read
+	 * @since 1.3.0
+	 */
+	public static boolean matches(@NotNull Path path, @NotNull Path source) throws IOException
+	{
+		if (!Files.isRegularFile(path) || !Files.isRegularFile(source) || Files.size(path) != Files.size(source)) {
+			return false;
+		}
+		
+		try (InputStream input = Files.newInputStream(path); InputStream other = Files.newInputStream(source)) {
+			return matches(input, other);
+		}
+	}
+	
+	/**
+	 * A method used to test whether a file holds the same content as a url. The content length reported
+	 * by the url is compared first, the content is only compared if both lengths are equal.
+	 *
+	 * @param path Target file
+	 * @param source Source url
+	 * @return Whether the file content is identical
+	 * @throws IOException If the file or url could not be read
+	 * @since 1.3.0
+	 */
+	public static boolean matches(@NotNull Path path, @NotNull URL source) throws IOException
+	{
+		if (!Files.isRegularFile(path)) {
+			return false;
+		}
+		
+		long size = Files.size(path);
+		URLConnection connection = source.openConnection();
+		long length = connection.getContentLengthLong();
+		
+		try (InputStream input = connection.getInputStream()) {
+			if (length >= 0 && length != size) {
+				return false;
+			}
+			
+			try (InputStream other = Files.newInputStream(path)) {
+				return matches(input, other);
+			}
+		}
+	}
+	
+	/**
+	 * A method used to compare every remaining byte of two streams, block by block. The streams are
+	 * not closed by this method.
+	 *
+	 * @param input First stream
+	 * @param other Second stream
+	 * @return Whether both streams hold the same content
+	 * @throws IOException If either stream could not be read
+	 * @since 1.3.0
+	 */
+	private static boolean matches(InputStream input, InputStream other) throws IOException
+	{
+		byte[] buffer = COMPARE_BUFFER.get();
+		
+		while (true) {
+			int read = fill(input, buffer, 0);
+			int otherRead = fill(other, buffer, BUFFER_SIZE);
+			
+			if (!ByteBuffer.wrap(buffer, 0, read).equals(ByteBuffer.wrap(buffer, BUFFER_SIZE, otherRead))) {
+				return false;
+			}
+			if (read < BUFFER_SIZE) {
+				return true;
+			}
+		}
+	}
+	
+	/**
+	 * A method used to read a full block of a stream, fewer bytes are only read at the end of the stream.
+	 *
+	 * @param input Content stream
+	 * @param buffer Target buffer
+	 * @param offset Block offset
+	 * @return The amount of bytes read
+	 * @throws IOException If the stream could not be read
+	 * @since 1.3.0
+	 */
+	private static int fill(InputStream input, byte[] buffer, int offset) throws IOException
+	{
+		int filled = 0;
+		
+		for (int read; filled < BUFFER_SIZE && (read = input.read(buffer, offset + filled, BUFFER_SIZE - filled)) != -1; ) {
+			filled += read;
+		}
+		return filled;
+	}
+}
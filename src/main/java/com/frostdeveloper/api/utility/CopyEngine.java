@@ -0,0 +1,352 @@
+package com.frostdeveloper.api.utility;
+
+import com.frostdeveloper.api.handler.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A class used to copy content at a limited rate while reporting its progress. The rate is enforced by
+ * a token bucket shared by every copy running on the same engine, so a single engine can be used to
+ * cap the combined bandwidth of several concurrent copies.
+ *
+ * @apiNote Every copy is written through {@link FileTransfer#writeAtomically(Path, boolean, FileTransfer.ChannelWriter)},
+ * so an interrupted or failed copy never leaves a partial target behind.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class CopyEngine
+{
+	/**
+	 * The rate used by an engine that does not limit its copies.
+	 *
+	 * @since 1.3.0
+	 */
+	public static final long UNLIMITED = -1;
+	
+	/**
+	 * The default minimum time between two progress callbacks of the same copy.
+	 *
+	 * @since 1.3.0
+	 */
+	public static final long DEFAULT_PROGRESS_INTERVAL = TimeUnit.MILLISECONDS.toNanos(250);
+	
+	// CLASS SPECIFIC OBJECTS
+	private static final int UNLIMITED_CHUNK_SIZE = 1024 * 1024;
+	private static final long BURST_DIVISOR = 10;
+	
+	private final int bufferSize;
+	private final Object lock = new Object();
+	private volatile long bytesPerSecond;
+	private volatile long progressInterval = DEFAULT_PROGRESS_INTERVAL;
+	private double tokens;
+	private long refilled = System.nanoTime();
+	
+	/**
+	 * A functional interface used to receive the progress of a copy.
+	 *
+	 * @since 1.3.0
+	 */
+	@FunctionalInterface
+	public interface ProgressListener
+	{
+		/**
+		 * A method called while content is being copied, at most once per progress interval and
+		 * always once the copy is complete.
+		 *
+		 * @param transferred The amount of bytes copied so far
+		 * @param total The total amount of bytes, or -1 if unknown
+		 * @since 1.3.0
+		 */
+		void onProgress(long transferred, long total);
+	}
+	
+	/**
+	 * Creates a new engine that does not limit its copies.
+	 *
+	 * @since 1.3.0
+	 */
+	public CopyEngine()                                      { this(UNLIMITED);                          }
+	
+	/**
+	 * Creates a new engine that limits its copies to a combined rate.
+	 *
+	 * @param bytesPerSecond Maximum rate, or {@link #UNLIMITED}
+	 * @since 1.3.0
+	 */
+	public CopyEngine(long bytesPerSecond)                   { this(bytesPerSecond, FileTransfer.DEFAULT_BUFFER_SIZE); }
+	
+	/**
+	 * Creates a new engine that limits its copies to a combined rate, streaming content through a
+	 * direct buffer of a specific size.
+	 *
+	 * @param bytesPerSecond Maximum rate, or {@link #UNLIMITED}
+	 * @param bufferSize Size of the copy buffer in bytes
+	 * @since 1.3.0
+	 */
+	public CopyEngine(long bytesPerSecond, int bufferSize)
+	{
+		Validate.isTrue(bufferSize > 0, "The buffer size must be greater than zero");
+		setBytesPerSecond(bytesPerSecond);
+		this.bufferSize = bufferSize;
+	}
+	
+	/**
+	 * A method used to change the rate of this engine, copies that are already running use the new
+	 * rate from their next chunk onwards.
+	 *
+	 * @param bytesPerSecond Maximum rate, or {@link #UNLIMITED}
+	 * @since 1.3.0
+	 */
+	public void setBytesPerSecond(long bytesPerSecond)
+	{
+		Validate.isTrue(bytesPerSecond > 0 || bytesPerSecond == UNLIMITED, "The rate must be greater than zero");
+		
+		synchronized (lock) {
+			this.bytesPerSecond = bytesPerSecond;
+			this.tokens = bytesPerSecond == UNLIMITED ? 0 : capacity(bytesPerSecond);
+			this.refilled = System.nanoTime();
+		}
+	}
+	
+	/**
+	 * A method used to return the rate of this engine.
+	 *
+	 * @return Maximum rate, or {@link #UNLIMITED}
+	 * @since 1.3.0
+	 */
+	public long getBytesPerSecond()                          { return bytesPerSecond;                    }
+	
+	/**
+	 * A method used to change the minimum time between two progress callbacks of the same copy.
+	 *
+	 * @param interval Minimum interval
+	 * @param unit Interval unit
+	 * @since 1.3.0
+	 */
+	public void setProgressInterval(long interval, @NotNull TimeUnit unit)
+	{
+		Validate.isTrue(interval >= 0, "The progress interval cannot be negative");
+		this.progressInterval = unit.toNanos(interval);
+	}
+	
+	/**
+	 * A method used to copy the content located at a url to a target path. If the url points to a
+	 * file on the default file system, the file is copied channel to channel.
+	 *
+	 * @param source Source url
+	 * @param target Target path
+	 * @param listener Progress listener, or null
+	 * @return The amount of bytes copied
+	 * @throws IOException If an I/O error occurs
+	 * @since 1.3.0
+	 */
+	public long copy(@NotNull URL source, @NotNull Path target, @Nullable ProgressListener listener) throws IOException
+	{
+		if ("file".equals(source.getProtocol())) {
+			try {
+				return copy(Paths.get(source.toURI()), target, listener);
+			}
+			catch (URISyntaxException | IllegalArgumentException ignored) {
+				// NOT A VALID FILE URI, FALL BACK TO STREAMING
+			}
+		}
+		
+		URLConnection connection = source.openConnection();
+		long total = connection.getContentLengthLong();
+		
+		try (InputStream input = connection.getInputStream()) {
+			return copy(input, target, total, listener);
+		}
+	}
+	
+	/**
+	 * A method used to copy a file to a target path using {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)},
+	 * one chunk at a time.
+	 *
+	 * @param source Source path
+	 * @param target Target path
+	 * @param listener Progress listener, or null
+	 * @return The amount of bytes copied
+	 * @throws IOException If an I/O error occurs
+	 * @since 1.3.0
+	 */
+	public long copy(@NotNull Path source, @NotNull Path target, @Nullable ProgressListener listener) throws IOException
+	{
+		try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ)) {
+			long size = input.size();
+			Progress progress = new Progress(listener, size);
+			
+			FileTransfer.writeAtomically(target, false, output -> {
+				while (progress.transferred < size) {
+					long chunk = Math.min(chunkSize(), size - progress.transferred);
+					acquire(chunk);
+					progress.update(FileTransfer.transfer(input, progress.transferred, chunk, output));
+				}
+			});
+			return progress.complete();
+		}
+	}
+	
+	/**
+	 * A method used to copy the content of a stream to a target path. The stream is not closed by
+	 * this method.
+	 *
+	 * @param source Source stream
+	 * @param target Target path
+	 * @param total The amount of bytes in the stream, or -1 if unknown
+	 * @param listener Progress listener, or null
+	 * @return The amount of bytes copied
+	 * @throws IOException If an I/O error occurs
+	 * @since 1.3.0
+	 */
+	public long copy(@NotNull InputStream source, @NotNull Path target, long total, @Nullable ProgressListener listener) throws IOException
+	{
+		ReadableByteChannel input = Channels.newChannel(source);
+		Progress progress = new Progress(listener, total);
+		
+		FileTransfer.writeAtomically(target, false, output -> {
+			ByteBuffer buffer = ByteBuffer.allocateDirect((int) Math.min(bufferSize, chunkSize()));
+			
+			while (input.read(buffer) != -1) {
+				buffer.flip();
+				acquire(buffer.remaining());
+				
+				while (buffer.hasRemaining()) {
+					progress.update(output.write(buffer));
+				}
+				buffer.clear();
+			}
+		});
+		return progress.complete();
+	}
+	
+	/**
+	 * A method used to return the amount of bytes copied between two rate checks. Limited engines
+	 * use small chunks so that the rate stays smooth.
+	 *
+	 * @return Chunk size
+	 * @since 1.3.0
+	 */
+	private long chunkSize()
+	{
+		long rate = bytesPerSecond;
+		return rate == UNLIMITED ? UNLIMITED_CHUNK_SIZE : Math.max(1, Math.min(bufferSize, capacity(rate)));
+	}
+	
+	/**
+	 * A method used to return the amount of bytes a bucket may hold, the burst allowed after an idle period.
+	 *
+	 * @param rate Maximum rate
+	 * @return Bucket capacity
+	 * @since 1.3.0
+	 */
+	private static long capacity(long rate)                  { return Math.max(1, rate / BURST_DIVISOR); }
+	
+	/**
+	 * A method used to take tokens out of the bucket, waiting until the bucket has refilled if it
+	 * went into debt. Waiting happens outside of the lock so other copies can queue behind.
+	 *
+	 * @param amount The amount of bytes about to be copied
+	 * @throws InterruptedIOException If the thread was interrupted while waiting
+	 * @since 1.3.0
+	 */
+	private void acquire(long amount) throws InterruptedIOException
+	{
+		long wait;
+		
+		synchronized (lock) {
+			long rate = bytesPerSecond;
+			
+			if (rate == UNLIMITED) {
+				return;
+			}
+			
+			long now = System.nanoTime();
+			tokens = Math.min(capacity(rate), tokens + (now - refilled) * (double) rate / TimeUnit.SECONDS.toNanos(1));
+			tokens -= amount;
+			refilled = now;
+			wait = tokens >= 0 ? 0 : (long) (-tokens * TimeUnit.SECONDS.toNanos(1) / rate);
+		}
+		
+		if (wait > 0) {
+			try {
+				TimeUnit.NANOSECONDS.sleep(wait);
+			}
+			catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for copy bandwidth");
+			}
+		}
+	}
+	
+	/**
+	 * A class used to track the progress of a single copy and to limit how often it is reported.
+	 *
+	 * @since 1.3.0
+	 */
+	private final class Progress
+	{
+		private final ProgressListener listener;
+		private final long total;
+		private final long interval = progressInterval;
+		private long transferred;
+		private long next;
+		
+		private Progress(ProgressListener listener, long total)
+		{
+			this.listener = listener;
+			this.total = total;
+			this.next = System.nanoTime() + interval;
+		}
+		
+		/**
+		 * A method used to record copied bytes, reporting them if the progress interval has passed.
+		 *
+		 * @param amount The amount of bytes copied
+		 * @since 1.3.0
+		 */
+		private void update(long amount)
+		{
+			transferred += amount;
+			
+			if (listener != null) {
+				long now = System.nanoTime();
+				
+				if (now - next >= 0) {
+					next = now + interval;
+					listener.onProgress(transferred, total);
+				}
+			}
+		}
+		
+		/**
+		 * A method used to report the final progress of the copy.
+		 *
+		 * @return The amount of bytes copied
+		 * @since 1.3.0
+		 */
+		private long complete()
+		{
+			if (listener != null) {
+				listener.onProgress(transferred, total);
+			}
+			return transferred;
+		}
+	}
+}
@@ -0,0 +1,275 @@
+package com.frostdeveloper.api.utility;
+
+import com.frostdeveloper.api.handler.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.*;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A class used to house the NIO copy routines shared across the api. Every write performed by this
+ * class goes to a temporary sibling of the target first and is then renamed over the target, this
+ * means a reader will either see the previous copy of a file or the complete new copy, never a
+ * partially written one.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public final class FileTransfer
+{
+	/**
+	 * The default size of the direct buffer used when copying from a stream.
+	 *
+	 * @since 1.3.0
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	
+	private FileTransfer() {}
+	
+	/**
+	 * A functional interface used to write content to an open file channel.
+	 *
+	 * @since 1.3.0
+	 */
+	@FunctionalInterface
+	public interface ChannelWriter
+	{
+		/**
+		 * A method used to write content to the provided channel.
+		 *
+		 * @param channel Target channel
+		 * @throws IOException If an I/O error occurs
+		 * @since 1.3.0
+		 */
+		void write(FileChannel channel) throws IOException;
+	}
+	
+	/**
+	 * A method used to copy the content located at a url to a target path. If the url points
+	 * to a file on the default file system, the content is transferred channel to channel, allowing
+	 * the operating system to skip copying it through the heap, otherwise the content is streamed
+	 * through a direct buffer of the requested size.
+	 *
+	 * @param source Source url
+	 * @param target Target path
+	 * @param bufferSize Size of the direct buffer used when streaming
+	 * @throws IOException If an I/O error occurs
+	 * @since 1.3.0
+	 */
+	public static void copy(@NotNull URL source, @NotNull Path target, int bufferSize) throws IOException
+	{
+		if ("file".equals(source.getProtocol())) {
+			try {
+				copy(Paths.get(source.toURI()), target);
+				return;
+			}
+			catch (URISyntaxException | IllegalArgumentException ignored) {
+				// NOT A VALID FILE URI, FALL BACK TO STREAMING
+			}
+		}
+		
+		try (InputStream input = source.openStream()) {
+			copy(input, target, bufferSize);
+		}
+	}
+	
+	/**
+	 * A method used to copy a file to a target path using {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+	 *
+	 * @param source Source path
+	 * @param target Target path
+	 * @throws IOException If an I/O error occurs
+	 * @since 1.3.0
+	 */
+	public static void copy(@NotNull Path source, @NotNull Path target) throws IOException
+	{
+		try (FileChannel input = FileChannel.open(source, StandardOpenOption.READ)) {
+			writeAtomically(target, false, output -> {
+				long size = input.size(), position = 0;
+				while (position < size) {
+					position += transfer(input, position, size - position, output);
+				}
+			});
+		}
+	}
+	
+	/**
+	 * A method used to copy the content of a stream to a target path. The stream is not closed
+	 * by this method.
+	 *
+	 * @param source Source stream
+	 * @param target Target path
+	 * @param bufferSize Size of the direct buffer
+	 * @throws IOException If an I/O error occurs
+	 * @since 1.3.0
+	 */
+	public static void copy(@NotNull InputStream source, @NotNull Path target, int bufferSize) throws IOException
+	{
+		ReadableByteChannel input = Channels.newChannel(source);
+		writeAtomically(target, false, output -> transfer(input, output, bufferSize));
+	}
+	
+	/**
+	 * A method used to transfer part of a file to a channel through {@link FileChannel#transferTo(long, long, WritableByteChannel)}.
+	 * Unlike a plain transfer, running past the end of a file that shrank during the copy is reported
+	 * as an error, so a copy loop waiting for the original size can never spin forever.
+	 *
+	 * @param input Source file
+	 * @param position Position of the first byte to transfer
+	 * @param count Maximum amount of bytes to transfer
+	 * @param output Target channel
+	 * @return The amount of bytes transferred, possibly zero
+	 * @throws IOException If the source ends before the position, or an I/O error occurs
+	 * @since 1.3.0
+	 */
+	public static long transfer(@NotNull FileChannel input, long position, long count, @NotNull WritableByteChannel output) throws IOException
+	{
+		long transferred = input.transferTo(position, count, output);
+		
+		if (transferred == 0 && count > 0 && position >= input.size()) {
+			throw new IOException("The source was truncated to " + input.size() + " bytes while it was copied");
+		}
+		return transferred;
+	}
+	
+	/**
+	 * A method used to move every byte from one channel to another using a direct buffer.
+	 *
+	 * @param input Source channel
+	 * @param output Target channel
+	 * @param bufferSize Size of the direct buffer
+	 * @return The amount of bytes transferred
+	 * @throws IOException If an I/O error occurs
+	 * @since 1.3.0
+	 */
+	public static long transfer(@NotNull ReadableByteChannel input, @NotNull WritableByteChannel output, int bufferSize) throws IOException
+	{
+		Validate.isTrue(bufferSize > 0, "The buffer size must be greater than zero");
+		
+		ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+		long total = 0;
+		
+		while (input.read(buffer) != -1) {
+			buffer.flip();
+			while (buffer.hasRemaining()) {
+				total += output.write(buffer);
+			}
+			buffer.clear();
+		}
+		return total;
+	}
+	
+	/**
+	 * A method used to write a file by first writing a temporary sibling and then renaming it over
+	 * the target. If anything fails, the temporary file is removed and the target is left untouched.
+	 *
+	 * @implNote The temporary file is created with the default permissions of the process, an existing
+	 * target keeps its own permissions, so replacing a file never changes who may read it.
+	 *
+	 * @param target Target path
+	 * @param force Whether the content should be flushed to the storage device before renaming
+	 * @param writer The content writer
+	 * @throws IOException If an I/O error occurs
+	 * @since 1.3.0
+	 */
+	public static void writeAtomically(@NotNull Path target, boolean force, @NotNull ChannelWriter writer) throws IOException
+	{
+		Path parent = target.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		
+		Path temp = createSibling(parent, "." + target.getFileName());
+		
+		try {
+			try (FileChannel output = FileChannel.open(temp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				writer.write(output);
+				
+				if (force) {
+					output.force(true);
+				}
+			}
+			copyPermissions(target, temp);
+			replace(temp, target);
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+	
+	/**
+	 * A method used to create an empty temporary file in a directory. Unlike {@link Files#createTempFile(Path, String, String, java.nio.file.attribute.FileAttribute[])},
+	 * the file is created with the default permissions of the process rather than owner-only permissions.
+	 *
+	 * @param directory Parent directory
+	 * @param prefix File name prefix
+	 * @return Created file
+	 * @throws IOException If the file could not be created
+	 * @since 1.3.0
+	 */
+	private static Path createSibling(Path directory, String prefix) throws IOException
+	{
+		while (true) {
+			Path temp = directory.resolve(prefix + Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36) + ".tmp");
+			
+			try {
+				Files.newByteChannel(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE).close();
+				return temp;
+			}
+			catch (FileAlreadyExistsException ignored) {
+				// ANOTHER WRITER PICKED THE SAME NAME, TRY ANOTHER ONE
+			}
+		}
+	}
+	
+	/**
+	 * A method used to give a file the POSIX permissions of another file, nothing is changed if the
+	 * other file does not exist or the file system has no POSIX permissions.
+	 *
+	 * @param source File whose permissions are copied
+	 * @param target File receiving the permissions
+	 * @throws IOException If the permissions could not be read or changed
+	 * @since 1.3.0
+	 */
+	private static void copyPermissions(Path source, Path target) throws IOException
+	{
+		PosixFileAttributeView view = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+		
+		if (view == null) {
+			return;
+		}
+		
+		try {
+			view.setPermissions(Files.getPosixFilePermissions(source));
+		}
+		catch (NoSuchFileException ignored) {
+			// THERE IS NO PREVIOUS FILE, THE DEFAULT PERMISSIONS APPLY
+		}
+	}
+	
+	/**
+	 * A method used to move a file over a target, atomically when the file system supports it.
+	 *
+	 * @param source Source path
+	 * @param target Target path
+	 * @throws IOException If an I/O error occurs
+	 * @since 1.3.0
+	 */
+	public static void replace(@NotNull Path source, @NotNull Path target) throws IOException
+	{
+		try {
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (AtomicMoveNotSupportedException ex) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+}
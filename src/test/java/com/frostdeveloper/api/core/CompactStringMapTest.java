@@ -0,0 +1,153 @@
+package com.frostdeveloper.api.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * A class used to test {@link CompactStringMap} against a {@link HashMap}, both must hold the same
+ * entries after any sequence of changes.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class CompactStringMapTest
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final String[] PREFIXES = { "", "db.", "d\u00E9.", "\u4E2D.", "a", "ab" };
+	
+	@Test
+	public void matchesHashMap()
+	{
+		Random random = new Random(0x5EED);
+		CompactStringMap actual = new CompactStringMap();
+		Map<String, String> expected = new HashMap<>();
+		
+		for (int i = 0; i < 200000; i++) {
+			String key = randomKey(random);
+			
+			switch (random.nextInt(10)) {
+				case 0:
+				case 1:
+				case 2:
+					assertEquals(key, expected.remove(key), actual.remove(key));
+					break;
+				case 3:
+					assertEquals(key, expected.get(key), actual.get(key));
+					assertEquals(key, expected.containsKey(key), actual.containsKey(key));
+					break;
+				default:
+					String value = random.nextInt(4) == 0 ? "value" + i : "shared" + random.nextInt(8);
+					assertEquals(key, expected.put(key, value), actual.put(key, value));
+			}
+			
+			if (random.nextInt(100000) == 0) {
+				expected.clear();
+				actual.clear();
+			}
+			assertEquals(expected.size(), actual.size());
+		}
+		
+		assertEquals(expected, actual);
+		assertEquals(expected, new HashMap<>(actual));
+	}
+	
+	@Test
+	public void copiesIndependently()
+	{
+		CompactStringMap original = new CompactStringMap();
+		original.put("a", "1");
+		original.put("b", "2");
+		original.remove("b");
+		
+		CompactStringMap copy = new CompactStringMap(original);
+		copy.put("c", "3");
+		original.put("a", "changed");
+		
+		assertEquals("1", copy.get("a"));
+		assertNull(copy.get("b"));
+		assertNull(original.get("c"));
+		assertEquals(2, copy.size());
+		assertEquals(1, original.size());
+	}
+	
+	@Test
+	public void writesThroughItsIterator()
+	{
+		CompactStringMap actual = new CompactStringMap();
+		Map<String, String> expected = new HashMap<>();
+		
+		for (int i = 0; i < 1000; i++) {
+			actual.put("key" + i, "value" + i);
+			expected.put("key" + i, "value" + i);
+		}
+		
+		for (Iterator<Map.Entry<String, String>> iterator = actual.entrySet().iterator(); iterator.hasNext(); ) {
+			Map.Entry<String, String> entry = iterator.next();
+			int number = Integer.parseInt(entry.getKey().substring(3));
+			
+			if (number % 3 == 0) {
+				iterator.remove();
+				expected.remove(entry.getKey());
+			}
+			else if (number % 3 == 1) {
+				entry.setValue("changed");
+				expected.put(entry.getKey(), "changed");
+			}
+		}
+		
+		assertEquals(expected, actual);
+	}
+	
+	@Test
+	public void findsKeysWithPrefix()
+	{
+		Random random = new Random(0x5EED);
+		CompactStringMap actual = new CompactStringMap();
+		List<String> keys = new ArrayList<>();
+		
+		for (int i = 0; i < 5000; i++) {
+			String key = randomKey(random);
+			actual.put(key, "value");
+			keys.add(key);
+		}
+		
+		for (int i = 0; i < 1000; i++) {
+			actual.remove(keys.get(random.nextInt(keys.size())));
+		}
+		
+		for (String prefix : PREFIXES) {
+			TreeSet<String> expected = new TreeSet<>();
+			
+			for (String key : actual.keySet()) {
+				if (key.startsWith(prefix)) {
+					expected.add(key);
+				}
+			}
+			assertEquals(prefix, expected, actual.keysWithPrefix(prefix));
+		}
+		assertFalse(actual.keysWithPrefix("db.").contains("d\u00E9.1"));
+	}
+	
+	/**
+	 * A method used to create a random key, mixing keys stored as bytes and keys stored as strings.
+	 *
+	 * @param random Random source
+	 * @return Random key
+	 * @since 1.3.0
+	 */
+	private static String randomKey(Random random)
+	{
+		return PREFIXES[random.nextInt(PREFIXES.length)] + random.nextInt(2000);
+	}
+}
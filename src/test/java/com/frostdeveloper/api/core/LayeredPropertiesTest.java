@@ -0,0 +1,103 @@
+package com.frostdeveloper.api.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * A class used to test that a layered list resolves every key to the layer with the highest precedence
+ * that defines it, and that it follows changes of its layers until it is closed.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class LayeredPropertiesTest
+{
+	@Test
+	public void higherLayerOverridesLowerLayer()
+	{
+		Properties defaults = new Properties();
+		defaults.setProperty("host", "localhost");
+		defaults.setProperty("port", "80");
+		
+		Properties overrides = new Properties();
+		overrides.setProperty("port", "8080");
+		
+		try (LayeredProperties layered = new LayeredProperties(defaults, overrides)) {
+			assertEquals("localhost", layered.getProperty("host"));
+			assertEquals("8080", layered.getProperty("port"));
+			assertEquals(new HashSet<>(Arrays.asList("host", "port")), layered.stringPropertyNames());
+		}
+	}
+	
+	@Test
+	public void removalFallsBackToLowerLayer()
+	{
+		Properties defaults = new Properties();
+		defaults.setProperty("port", "80");
+		
+		Properties overrides = new Properties();
+		overrides.setProperty("port", "8080");
+		overrides.setProperty("debug", "true");
+		
+		try (LayeredProperties layered = new LayeredProperties(defaults, overrides)) {
+			overrides.removeProperty("port");
+			assertEquals("80", layered.getProperty("port"));
+			
+			// A KEY NO LAYER DEFINES ANYMORE IS NO LONGER RESOLVED
+			overrides.removeProperty("debug");
+			assertFalse(layered.containsKey("debug"));
+			assertEquals(1, layered.size());
+		}
+	}
+	
+	@Test
+	public void followsChangesOfLayers()
+	{
+		Properties defaults = new Properties();
+		Properties overrides = new Properties();
+		
+		try (LayeredProperties layered = new LayeredProperties(defaults, overrides)) {
+			defaults.setProperty("port", "80");
+			assertEquals("80", layered.getProperty("port"));
+			
+			overrides.setProperty("port", "8080");
+			assertEquals("8080", layered.getProperty("port"));
+			
+			// A CHANGE OF A LOWER LAYER DOES NOT REPLACE A VALUE OVERRIDDEN BY A HIGHER ONE
+			defaults.setProperty("port", "81");
+			assertEquals("8080", layered.getProperty("port"));
+			
+			defaults.load(new ByteArrayInputStream("host=example\nport=82\n".getBytes(StandardCharsets.ISO_8859_1)));
+			assertEquals("example", layered.getProperty("host"));
+			assertEquals("8080", layered.getProperty("port"));
+			
+			overrides.batch().set("host", "override").remove("port").apply();
+			assertEquals("override", layered.getProperty("host"));
+			assertEquals("82", layered.getProperty("port"));
+		}
+	}
+	
+	@Test
+	public void stopsFollowingAfterClose()
+	{
+		Properties layer = new Properties();
+		layer.setProperty("port", "80");
+		
+		LayeredProperties layered = new LayeredProperties(layer);
+		layered.close();
+		
+		layer.setProperty("port", "8080");
+		layer.setProperty("host", "localhost");
+		
+		assertEquals("80", layered.getProperty("port"));
+		assertNull(layered.getProperty("host"));
+	}
+}
@@ -0,0 +1,164 @@
+package com.frostdeveloper.api.core;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class used to test that a batch of changes becomes visible all at once, a reader copying the list
+ * while batches are applied must never see part of a batch.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class PropertiesBatchTest
+{
+	private static final int KEYS = 50;
+	private static final int BATCHES = 2000;
+	
+	@Test
+	public void appliesEveryChange()
+	{
+		Properties properties = new Properties();
+		properties.setProperty("kept", "1");
+		properties.setProperty("removed", "2");
+		
+		properties.batch().set("added", 3).set("kept", "4").remove("removed").remove("missing").apply();
+		
+		assertEquals("3", properties.getProperty("added"));
+		assertEquals("4", properties.getProperty("kept"));
+		assertNull(properties.getProperty("removed"));
+		assertEquals(2, properties.stringPropertyNames().size());
+	}
+	
+	@Test
+	public void readerNeverSeesPartOfBatch() throws Exception
+	{
+		for (Properties.Storage storage : Properties.Storage.values()) {
+			Properties properties = new Properties(storage);
+			properties.setProperty("unrelated", "value");
+			
+			AtomicBoolean running = new AtomicBoolean(true);
+			AtomicReference<String> failure = new AtomicReference<>();
+			CountDownLatch started = new CountDownLatch(2);
+			List<Thread> readers = new ArrayList<>();
+			
+			for (int i = 0; i < 2; i++) {
+				Thread reader = new Thread(() -> {
+					started.countDown();
+					
+					while (running.get() && failure.get() == null) {
+						Map<String, String> copy = new HashMap<>();
+						properties.copyTo(copy);
+						copy.remove("unrelated");
+						
+						// EVERY BATCH EITHER REMOVES ALL KEYS OR SETS ALL OF THEM TO THE SAME VALUE
+						if (!copy.isEmpty() && (copy.size() != KEYS || new HashSet<>(copy.values()).size() != 1)) {
+							failure.compareAndSet(null, storage + " exposed part of a batch: " + copy);
+						}
+					}
+				});
+				reader.start();
+				readers.add(reader);
+			}
+			started.await();
+			
+			for (int i = 0; i < BATCHES && failure.get() == null; i++) {
+				Properties.Batch batch = properties.batch();
+				
+				for (int key = 0; key < KEYS; key++) {
+					if (i % 5 == 4) {
+						batch.remove("key" + key);
+					}
+					else {
+						batch.set("key" + key, i);
+					}
+				}
+				batch.apply();
+			}
+			
+			running.set(false);
+			for (Thread reader : readers) {
+				reader.join();
+			}
+			
+			assertNull(failure.get());
+			assertTrue(storage.name(), properties.containsKey("unrelated"));
+		}
+	}	
+	@Test
+	public void prefixViewNeverSeesPartOfBatch() throws Exception
+	{
+		for (Properties.Storage storage : Properties.Storage.values()) {
+			Properties properties = new Properties(storage);
+			properties.setProperty("unrelated", "value");
+			
+			// THE VIEWS ARE CREATED FIRST, SO LISTS WITHOUT SORTED ENTRIES READ THROUGH THEIR KEY INDEX
+			Set<String> keys = properties.keysWithPrefix("key");
+			Map<String, String> subset = properties.subset("key");
+			
+			AtomicBoolean running = new AtomicBoolean(true);
+			AtomicReference<String> failure = new AtomicReference<>();
+			CountDownLatch started = new CountDownLatch(2);
+			List<Thread> readers = new ArrayList<>();
+			
+			readers.add(new Thread(() -> {
+				started.countDown();
+				
+				while (running.get() && failure.get() == null) {
+					List<String> copy = new ArrayList<>(keys);
+					
+					if (!copy.isEmpty() && copy.size() != KEYS) {
+						failure.compareAndSet(null, storage + " exposed part of a batch: " + copy);
+					}
+				}
+			}));
+			readers.add(new Thread(() -> {
+				started.countDown();
+				
+				while (running.get() && failure.get() == null) {
+					Map<String, String> copy = new HashMap<>(subset);
+					
+					if (!copy.isEmpty() && (copy.size() != KEYS || new HashSet<>(copy.values()).size() != 1)) {
+						failure.compareAndSet(null, storage + " exposed part of a batch: " + copy);
+					}
+				}
+			}));
+			
+			for (Thread reader : readers) {
+				reader.start();
+			}
+			started.await();
+			
+			for (int i = 0; i < BATCHES && failure.get() == null; i++) {
+				Properties.Batch batch = properties.batch();
+				
+				for (int key = 0; key < KEYS; key++) {
+					if (i % 5 == 4) {
+						batch.remove("key" + key);
+					}
+					else {
+						batch.set("key" + key, i);
+					}
+				}
+				batch.apply();
+			}
+			
+			running.set(false);
+			for (Thread reader : readers) {
+				reader.join();
+			}
+			
+			// THE LAST BATCH REMOVES EVERY KEY
+			assertNull(failure.get());
+			assertTrue(storage.name(), keys.isEmpty());
+		}
+	}
+}
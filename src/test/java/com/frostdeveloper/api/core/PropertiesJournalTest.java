@@ -0,0 +1,207 @@
+package com.frostdeveloper.api.core;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * A class used to test that {@link PropertiesJournal} replays exactly the changes it was given, that a
+ * partly written record is cut off, and that truncating keeps every record after the given position.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class PropertiesJournalTest
+{
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+	
+	private Path source;
+	
+	@Before
+	public void setUp()
+	{
+		source = folder.getRoot().toPath().resolve("test.properties");
+	}
+	
+	@Test
+	public void replaysEveryRecord() throws IOException
+	{
+		Map<String, String> expected = new HashMap<>();
+		
+		try (PropertiesJournal journal = new PropertiesJournal(source)) {
+			journal.append("a", "1");
+			journal.append("b", "2");
+			journal.append("a", "3");
+			journal.append("b", null);
+			journal.appendClear();
+			journal.append("c", "\u00E9\u4E2D");
+			journal.append("", "");
+			journal.sync();
+		}
+		expected.put("c", "\u00E9\u4E2D");
+		expected.put("", "");
+		
+		assertEquals(expected, replay());
+	}
+	
+	@Test
+	public void matchesRandomChanges() throws IOException
+	{
+		Random random = new Random(0x5EED);
+		Map<String, String> expected = new HashMap<>();
+		expected.put("kept", "before");
+		
+		try (PropertiesJournal journal = new PropertiesJournal(source)) {
+			for (int i = 0; i < 5000; i++) {
+				String key = "key" + random.nextInt(100);
+				
+				if (random.nextInt(500) == 0) {
+					journal.appendClear();
+					expected.clear();
+				}
+				else if (random.nextInt(4) == 0) {
+					journal.append(key, null);
+					expected.remove(key);
+				}
+				else {
+					String value = "value" + i;
+					journal.append(key, value);
+					expected.put(key, value);
+				}
+				
+				if (random.nextInt(50) == 0) {
+					journal.sync();
+				}
+			}
+		}
+		
+		Map<String, String> actual = new HashMap<>();
+		actual.put("kept", "before");
+		
+		try (PropertiesJournal journal = new PropertiesJournal(source)) {
+			journal.replay(actual);
+		}
+		assertEquals(expected, actual);
+	}
+	
+	@Test
+	public void cutsOffAPartlyWrittenRecord() throws IOException
+	{
+		try (PropertiesJournal journal = new PropertiesJournal(source)) {
+			journal.append("a", "1");
+			journal.sync();
+			journal.append("b", "2");
+			journal.sync();
+		}
+		
+		Path path = PropertiesJournal.of(source);
+		long complete = Files.size(path);
+		
+		// DROP THE LAST BYTE OF THE SECOND RECORD
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+			channel.truncate(complete - 1);
+		}
+		
+		Map<String, String> expected = new HashMap<>();
+		expected.put("a", "1");
+		assertEquals(expected, replay());
+		
+		try (PropertiesJournal journal = new PropertiesJournal(source)) {
+			journal.append("c", "3");
+			journal.sync();
+		}
+		expected.put("c", "3");
+		assertEquals(expected, replay());
+	}
+	
+	@Test
+	public void ignoresACorruptedRecord() throws IOException
+	{
+		try (PropertiesJournal journal = new PropertiesJournal(source)) {
+			journal.append("a", "1");
+			journal.sync();
+			journal.append("b", "2");
+			journal.append("c", "3");
+			journal.sync();
+		}
+		
+		Path path = PropertiesJournal.of(source);
+		byte[] content = Files.readAllBytes(path);
+		content[content.length - 1] ^= 0x55;
+		Files.write(path, content);
+		
+		Map<String, String> expected = new HashMap<>();
+		expected.put("a", "1");
+		expected.put("b", "2");
+		assertEquals(expected, replay());
+	}
+	
+	@Test
+	public void keepsRecordsAfterTheTruncatedPosition() throws IOException
+	{
+		try (PropertiesJournal journal = new PropertiesJournal(source)) {
+			journal.append("a", "1");
+			journal.append("b", "2");
+			long position = journal.mark();
+			
+			journal.append("c", "3");
+			journal.sync();
+			journal.truncate(position);
+			assertEquals(journal.mark() - position, journal.size());
+			
+			journal.append("d", "4");
+			journal.sync();
+		}
+		
+		Map<String, String> expected = new HashMap<>();
+		expected.put("c", "3");
+		expected.put("d", "4");
+		assertEquals(expected, replay());
+	}
+	
+	@Test
+	public void replaysNothingAfterAFullTruncate() throws IOException
+	{
+		try (PropertiesJournal journal = new PropertiesJournal(source)) {
+			journal.append("a", "1");
+			journal.sync();
+			journal.truncate(journal.mark());
+			assertEquals(0, journal.size());
+			assertFalse(journal.isFailed());
+		}
+		
+		assertEquals(0, Files.size(PropertiesJournal.of(source)));
+		assertEquals(new HashMap<String, String>(), replay());
+	}
+	
+	/**
+	 * A method used to open the journal again and replay it into an empty list.
+	 *
+	 * @return Replayed list
+	 * @throws IOException If the journal could not be read
+	 * @since 1.3.0
+	 */
+	private Map<String, String> replay() throws IOException
+	{
+		Map<String, String> target = new HashMap<>();
+		
+		try (PropertiesJournal journal = new PropertiesJournal(source)) {
+			journal.replay(target);
+		}
+		return target;
+	}
+}
@@ -0,0 +1,128 @@
+package com.frostdeveloper.api.core;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class used to test that change listeners receive coalesced batches, that loading a file produces
+ * a single batch, and that a listener only receives the keys matching its prefix.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class PropertiesListenerTest
+{
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+	
+	private Properties properties;
+	private Deque<Runnable> deliveries;
+	
+	@Before
+	public void setUp()
+	{
+		properties = new Properties();
+		deliveries = new ArrayDeque<>();
+		
+		// DELIVERIES ARE RUN BY THE TEST ITSELF, SO BATCHES CAN BUILD UP BEFORE THEY ARE DELIVERED
+		properties.setListenerExecutor(deliveries::add);
+	}
+	
+	@Test
+	public void loadDeliversSingleBatch() throws IOException
+	{
+		Path file = folder.getRoot().toPath().resolve("test.properties");
+		StringBuilder content = new StringBuilder();
+		
+		for (int i = 0; i < 1000; i++) {
+			content.append("key").append(i).append('=').append(i).append('\n');
+		}
+		Files.write(file, content.toString().getBytes(StandardCharsets.ISO_8859_1));
+		
+		// EVERY CHANGE IS DELIVERED RIGHT AWAY, SO A LOAD REPORTING KEYS ONE BY ONE WOULD DELIVER MANY BATCHES
+		properties.setListenerExecutor(Runnable::run);
+		List<Set<String>> batches = listen("");
+		properties.load(file.toFile());
+		
+		assertEquals(1, batches.size());
+		assertEquals(1000, batches.get(0).size());
+	}
+	
+	@Test
+	public void coalescesPendingChanges()
+	{
+		List<Set<String>> batches = listen("");
+		
+		properties.setProperty("a", "1");
+		properties.setProperty("b", "2");
+		properties.setProperty("a", "3", true);
+		properties.removeProperty("b");
+		deliver();
+		
+		assertEquals(1, batches.size());
+		assertEquals(new HashSet<>(Arrays.asList("a", "b")), batches.get(0));
+		
+		properties.setProperty("c", "4");
+		deliver();
+		
+		assertEquals(2, batches.size());
+		assertEquals(Collections.singleton("c"), batches.get(1));
+	}
+	
+	@Test
+	public void filtersByPrefix() throws IOException
+	{
+		List<Set<String>> database = listen("db.");
+		List<Set<String>> cache = listen("cache.");
+		
+		properties.load(new ByteArrayInputStream("db.url=a\ndb.user=b\nserver.port=1\n".getBytes(StandardCharsets.ISO_8859_1)));
+		deliver();
+		
+		assertEquals(Collections.singletonList(new HashSet<>(Arrays.asList("db.url", "db.user"))), database);
+		assertTrue(cache.isEmpty());
+	}
+	
+	@Test
+	public void stopsAfterClose() throws IOException
+	{
+		List<Set<String>> batches = new CopyOnWriteArrayList<>();
+		Closeable registration = properties.addListener(batches::add);
+		
+		properties.setProperty("a", "1");
+		deliver();
+		registration.close();
+		
+		properties.setProperty("b", "2");
+		deliver();
+		
+		assertEquals(1, batches.size());
+	}
+	
+	private List<Set<String>> listen(String prefix)
+	{
+		List<Set<String>> batches = new CopyOnWriteArrayList<>();
+		properties.addListener(prefix, batches::add);
+		return batches;
+	}
+	
+	private void deliver()
+	{
+		for (Runnable delivery; (delivery = deliveries.poll()) != null; ) {
+			delivery.run();
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package com.frostdeveloper.api.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * A class used to test {@link PropertiesParser} against {@link java.util.Properties#load(java.io.InputStream)},
+ * every input must produce the same entries, or fail the same way.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class PropertiesParserTest
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final String ALPHABET = "ab=: \t\f\\\n\r#!u0Fx\u00E9";
+	
+	@Test
+	public void parsesSeparatorsAndWhitespace() throws IOException
+	{
+		assertParsed("a=1\nb:2\nc 3\n  d \t = \t4\ne\n=5\n");
+	}
+	
+	@Test
+	public void parsesCommentsAndBlankLines() throws IOException
+	{
+		assertParsed("# comment\n! comment\n\n   \na=1\n  # not a key\n#a=2\n");
+	}
+	
+	@Test
+	public void parsesContinuationLines() throws IOException
+	{
+		assertParsed("a=one \\\n    two \\\r\n\tthree\nb=\\\n\nc=\\\\\nd=end\\");
+	}
+	
+	@Test
+	public void parsesEscapes() throws IOException
+	{
+		assertParsed("a\\ b\\=c\\:d=\\t\\n\\r\\f\\u00e9\\u4E2D\\q\\\\\n\\#e=\\!f\n");
+	}
+	
+	@Test
+	public void parsesIsoCharacters() throws IOException
+	{
+		assertParsed(new byte[] { 'k', (byte) 0xE9, '=', (byte) 0xFF, (byte) 0x80, '\n' });
+	}
+	
+	@Test
+	public void keepsTheLastValueOfARepeatedKey() throws IOException
+	{
+		assertParsed("a=1\na=2\nb=3\na=4\n");
+	}
+	
+	@Test
+	public void rejectsMalformedUnicodeEscapes() throws IOException
+	{
+		assertParsed("a=\\u12");
+		assertParsed("a=\\u12G4\n");
+	}
+	
+	@Test
+	public void matchesRandomInput() throws IOException
+	{
+		Random random = new Random(0x5EED);
+		
+		for (int i = 0; i < 20000; i++) {
+			StringBuilder input = new StringBuilder();
+			int length = random.nextInt(64);
+			
+			for (int j = 0; j < length; j++) {
+				input.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+			}
+			assertParsed(input.toString());
+		}
+	}
+	
+	/**
+	 * A method used to parse a text with both parsers and compare the results.
+	 *
+	 * @param input Parsed text, encoded as ISO 8859-1
+	 * @throws IOException If the input could not be read
+	 * @since 1.3.0
+	 */
+	private static void assertParsed(String input) throws IOException
+	{
+		assertParsed(input.getBytes(StandardCharsets.ISO_8859_1));
+	}
+	
+	/**
+	 * A method used to parse the same bytes with both parsers and compare the results, a malformed
+	 * unicode escape must be rejected by both.
+	 *
+	 * @param input Parsed bytes
+	 * @throws IOException If the input could not be read
+	 * @since 1.3.0
+	 */
+	private static void assertParsed(byte[] input) throws IOException
+	{
+		String description = new String(input, StandardCharsets.ISO_8859_1);
+		java.util.Properties expected = new java.util.Properties();
+		boolean rejected = false;
+		
+		try {
+			expected.load(new ByteArrayInputStream(input));
+		}
+		catch (IllegalArgumentException ex) {
+			rejected = true;
+		}
+		
+		Map<String, String> actual = new HashMap<>();
+		try {
+			new PropertiesParser(new ByteArrayInputStream(input)).parse(actual);
+		}
+		catch (IllegalArgumentException ex) {
+			if (!rejected) {
+				fail("Rejected valid input: " + description);
+			}
+			return;
+		}
+		
+		if (rejected) {
+			fail("Accepted malformed input: " + description);
+		}
+		assertEquals(description, expected, actual);
+	}
+}
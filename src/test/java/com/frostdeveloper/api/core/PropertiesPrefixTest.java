@@ -0,0 +1,107 @@
+package com.frostdeveloper.api.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class used to test that the prefix views of every storage type are live, they must reflect keys
+ * added or removed after the view was created, whichever way the list was changed.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class PropertiesPrefixTest
+{
+	@Test
+	public void subsetSeesLaterInserts()
+	{
+		for (Properties.Storage storage : Properties.Storage.values()) {
+			Properties properties = new Properties(storage);
+			properties.setProperty("db.url", "jdbc");
+			properties.setProperty("server.port", "80");
+			
+			Map<String, String> subset = properties.subset("db.");
+			assertEquals(storage.name(), Collections.singletonMap("url", "jdbc"), new HashMap<>(subset));
+			
+			properties.setProperty("db.user", "admin");
+			properties.setProperty("dbx", "excluded");
+			properties.setAll(Collections.singletonMap("db.password", "secret"));
+			properties.load(new ByteArrayInputStream("db.pool=4\n".getBytes(StandardCharsets.ISO_8859_1)));
+			
+			Map<String, String> expected = new HashMap<>();
+			expected.put("url", "jdbc");
+			expected.put("user", "admin");
+			expected.put("password", "secret");
+			expected.put("pool", "4");
+			
+			assertEquals(storage.name(), expected, new HashMap<>(subset));
+			assertEquals(storage.name(), "admin", subset.get("user"));
+			assertTrue(storage.name(), subset.containsKey("pool"));
+			assertNull(storage.name(), subset.get("port"));
+		}
+	}
+	
+	@Test
+	public void keysSeeLaterRemovals()
+	{
+		for (Properties.Storage storage : Properties.Storage.values()) {
+			Properties properties = new Properties(storage);
+			properties.setProperty("a.1", "1");
+			properties.setProperty("a.2", "2");
+			properties.setProperty("a.3", "3");
+			properties.setProperty("b.1", "4");
+			
+			Set<String> keys = properties.keysWithPrefix("a.");
+			assertEquals(storage.name(), Arrays.asList("a.1", "a.2", "a.3"), new ArrayList<>(keys));
+			
+			properties.removeProperty("a.2");
+			properties.removeAll(Collections.singleton("a.3"));
+			assertEquals(storage.name(), Collections.singletonList("a.1"), new ArrayList<>(keys));
+			assertFalse(storage.name(), keys.contains("a.2"));
+			
+			properties.clear();
+			assertTrue(storage.name(), keys.isEmpty());
+			
+			properties.setProperty("a.4", "5");
+			assertEquals(storage.name(), 1, keys.size());
+		}
+	}
+	
+	@Test
+	public void matchesFullScan()
+	{
+		Random random = new Random(0x5EED);
+		
+		for (Properties.Storage storage : Properties.Storage.values()) {
+			Properties properties = new Properties(storage);
+			Set<String> keys = properties.keysWithPrefix("k1");
+			
+			for (int i = 0; i < 2000; i++) {
+				String key = "k" + random.nextInt(300);
+				
+				if (random.nextInt(3) == 0) {
+					properties.removeProperty(key);
+				}
+				else {
+					properties.setProperty(key, i);
+				}
+			}
+			
+			Set<String> expected = new TreeSet<>();
+			for (String key : properties.stringPropertyNames()) {
+				if (key.startsWith("k1")) {
+					expected.add(key);
+				}
+			}
+			assertEquals(storage.name(), new ArrayList<>(expected), new ArrayList<>(keys));
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package com.frostdeveloper.api.core;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class used to test that a {@link PropertiesSnapshot} reads back the list it was rendered from, and
+ * that it is only trusted while its text file holds the content it was taken from.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class PropertiesSnapshotTest
+{
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+	
+	private Path source;
+	
+	@Before
+	public void setUp()
+	{
+		source = folder.getRoot().toPath().resolve("test.properties");
+	}
+	
+	@Test
+	public void readsTheRenderedList() throws IOException
+	{
+		Map<String, String> entries = new HashMap<>();
+		entries.put("key", "value");
+		entries.put("shared", "value");
+		entries.put("", "");
+		entries.put("\u00E9\u4E2D", "\t\n\u4E2D");
+		
+		Files.write(source, "key=value\n".getBytes(StandardCharsets.ISO_8859_1));
+		PropertiesSnapshot.write(source, attributes(), PropertiesSnapshot.render(entries));
+		
+		Map<String, String> loaded = new HashMap<>();
+		assertTrue(PropertiesSnapshot.read(source, attributes(), loaded));
+		assertEquals(entries, loaded);
+	}
+	
+	@Test
+	public void ignoresAnEditKeepingSizeAndTime() throws IOException
+	{
+		Map<String, String> entries = new HashMap<>();
+		entries.put("key", "one");
+		
+		Files.write(source, "key=one\n".getBytes(StandardCharsets.ISO_8859_1));
+		FileTime modified = Files.getLastModifiedTime(source);
+		PropertiesSnapshot.write(source, attributes(), PropertiesSnapshot.render(entries));
+		assertTrue(PropertiesSnapshot.isCurrent(source, attributes()));
+		
+		Files.write(source, "key=two\n".getBytes(StandardCharsets.ISO_8859_1));
+		Files.setLastModifiedTime(source, modified);
+		
+		assertFalse(PropertiesSnapshot.isCurrent(source, attributes()));
+		assertFalse(PropertiesSnapshot.read(source, attributes(), new HashMap<>()));
+	}
+	
+	@Test
+	public void ignoresADamagedSnapshot() throws IOException
+	{
+		Map<String, String> entries = new HashMap<>();
+		entries.put("key", "value");
+		
+		Files.write(source, "key=value\n".getBytes(StandardCharsets.ISO_8859_1));
+		PropertiesSnapshot.write(source, attributes(), PropertiesSnapshot.render(entries));
+		
+		Path snapshot = PropertiesSnapshot.of(source);
+		byte[] content = Files.readAllBytes(snapshot);
+		content[content.length - 1] ^= 0x55;
+		Files.write(snapshot, content);
+		
+		assertFalse(PropertiesSnapshot.read(source, attributes(), new HashMap<>()));
+	}
+	
+	@Test
+	public void isNeverCurrentWithoutASnapshot() throws IOException
+	{
+		Files.write(source, "key=value\n".getBytes(StandardCharsets.ISO_8859_1));
+		assertFalse(PropertiesSnapshot.isCurrent(source, attributes()));
+		assertFalse(PropertiesSnapshot.read(source, attributes(), new HashMap<>()));
+	}
+	
+	/**
+	 * A method used to read the current attributes of the text file.
+	 *
+	 * @return Current attributes
+	 * @throws IOException If the attributes could not be read
+	 * @since 1.3.0
+	 */
+	private BasicFileAttributes attributes() throws IOException
+	{
+		return Files.readAttributes(source, BasicFileAttributes.class);
+	}
+}
@@ -0,0 +1,115 @@
+package com.frostdeveloper.api.core;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.stream.Stream;
+
+import static com.frostdeveloper.api.core.StoredFiles.fileKey;
+import static com.frostdeveloper.api.core.StoredFiles.load;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * A class used to test that {@link Properties#store} replaces its file atomically, and that storing a
+ * list the file already holds leaves the file untouched. A rewritten file is replaced by a new file, so
+ * whether it was written is told by its file key.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class PropertiesStoreTest
+{
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+	
+	private Path target;
+	
+	@Before
+	public void setUp()
+	{
+		target = folder.getRoot().toPath().resolve("nested/test.properties");
+	}
+	
+	@Test
+	public void storesUnchangedListOnce() throws IOException
+	{
+		Properties properties = new Properties();
+		properties.setProperty("a", "1");
+		properties.setProperty("b", "2");
+		
+		properties.store(target.toFile(), "comment");
+		Object stored = fileKey(target);
+		
+		properties.store(target.toFile(), "comment");
+		assertEquals(stored, fileKey(target));
+		
+		properties.setProperty("c", "3");
+		properties.store(target.toFile(), "comment");
+		assertNotEquals(stored, fileKey(target));
+		assertEquals("3", load(target).getProperty("c"));
+	}
+	
+	@Test
+	public void skipsFileHoldingSameList() throws IOException
+	{
+		Properties properties = new Properties();
+		properties.setProperty("a", "1");
+		properties.store(target.toFile(), "comment");
+		Object stored = fileKey(target);
+		
+		// A DIFFERENT LIST HOLDING THE SAME ENTRIES, ONLY THE TIMESTAMP WOULD DIFFER
+		Properties copy = new Properties();
+		copy.setProperty("a", "1");
+		copy.store(target.toFile(), "comment");
+		assertEquals(stored, fileKey(target));
+		
+		// A LOADED LIST IS ALREADY HELD BY ITS FILE
+		Properties loaded = load(target);
+		loaded.store(target.toFile(), "comment");
+		assertEquals(stored, fileKey(target));
+		
+		copy.store(target.toFile(), "another comment");
+		assertNotEquals(stored, fileKey(target));
+	}
+	
+	@Test
+	public void rewritesFileChangedWithinSameModificationTime() throws IOException
+	{
+		Properties properties = new Properties();
+		properties.setProperty("a", "1");
+		properties.store(target.toFile(), "comment");
+		
+		// ANOTHER WRITER CHANGES THE VALUE, LEAVING THE SIZE AND MODIFICATION TIME AS THEY WERE
+		FileTime modified = Files.getLastModifiedTime(target);
+		String content = new String(Files.readAllBytes(target), StandardCharsets.ISO_8859_1);
+		Files.write(target, content.replace("a=1", "a=2").getBytes(StandardCharsets.ISO_8859_1));
+		Files.setLastModifiedTime(target, modified);
+		
+		properties.store(target.toFile(), "comment");
+		assertEquals("1", load(target).getProperty("a"));
+	}
+	
+	@Test
+	public void leavesNoTemporaryFiles() throws IOException
+	{
+		Properties properties = new Properties();
+		
+		for (int i = 0; i < 10; i++) {
+			properties.setProperty("key" + i, i);
+			properties.store(target.toFile());
+		}
+		
+		try (Stream<Path> paths = Files.list(target.getParent())) {
+			assertEquals(1, paths.count());
+		}
+		assertEquals(10, load(target).stringPropertyNames().size());
+	}
+}
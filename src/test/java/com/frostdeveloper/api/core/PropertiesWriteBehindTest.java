@@ -0,0 +1,94 @@
+package com.frostdeveloper.api.core;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static com.frostdeveloper.api.core.StoredFiles.fileKey;
+import static com.frostdeveloper.api.core.StoredFiles.load;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class used to test that write-behind coalesces a burst of changes into a single store, and that
+ * pending changes are stored right away when they are flushed.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class PropertiesWriteBehindTest
+{
+	// CHANGES ARE FAR CLOSER TOGETHER THAN THE QUIET PERIOD, SO A SLOW MACHINE CANNOT END THE BURST EARLY
+	private static final long QUIET_PERIOD = 2000;
+	private static final long GAP = 100;
+	private static final int CHANGES = 25;
+	private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+	
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+	
+	private Path target;
+	private Properties properties;
+	
+	@Before
+	public void setUp()
+	{
+		target = folder.getRoot().toPath().resolve("test.properties");
+		properties = new Properties();
+	}
+	
+	@After
+	public void disableWriteBehind()
+	{
+		properties.disableWriteBehind();
+	}
+	
+	@Test
+	public void coalescesBurstIntoOneStore() throws Exception
+	{
+		properties.enableWriteBehind(target.toFile(), QUIET_PERIOD, TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS);
+		
+		// EVERY CHANGE COMES BEFORE THE QUIET PERIOD ENDS, SO NOTHING IS STORED DURING THE BURST, WHICH
+		// ITSELF LASTS LONGER THAN THE QUIET PERIOD
+		for (int i = 0; i < CHANGES; i++) {
+			properties.setProperty("key" + i, i);
+			Thread.sleep(GAP);
+		}
+		assertFalse(Files.exists(target));
+		
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		while (!Files.exists(target) && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		assertTrue("The burst was never stored", Files.exists(target));
+		Object stored = fileKey(target);
+		
+		// NO SECOND STORE FOLLOWS THE FIRST ONE
+		Thread.sleep(QUIET_PERIOD * 2);
+		assertEquals(stored, fileKey(target));
+		assertEquals(CHANGES, load(target).stringPropertyNames().size());
+	}
+	
+	@Test
+	public void flushStoresPendingChanges() throws IOException
+	{
+		properties.enableWriteBehind(target.toFile(), 1, 1, TimeUnit.MINUTES);
+		properties.setProperty("key", "value");
+		assertFalse(Files.exists(target));
+		
+		properties.flush();
+		assertEquals("value", load(target).getProperty("key"));
+		
+		properties.setProperty("other", "value");
+		properties.disableWriteBehind();
+		assertEquals("value", load(target).getProperty("other"));
+	}
+}
@@ -0,0 +1,169 @@
+package com.frostdeveloper.api.core;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class used to test {@link PropertiesWriter} against {@link java.util.Properties#store(java.io.OutputStream, String)},
+ * both must produce the same bytes apart from the timestamp line, and the output must load back unchanged.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class PropertiesWriterTest
+{
+	// CLASS SPECIFIC OBJECTS
+	private static final String ALPHABET = "ab =:#!\\\t\n\r\f\u0001\u007F\u00E9\u00FF\u0100\u4E2D";
+	private static final Pattern DATE_LINE = Pattern.compile("#\\w{3} \\w{3} \\d{2} \\d{2}:\\d{2}:\\d{2} .* \\d{4}");
+	
+	@Test
+	public void writesLikeProperties() throws IOException
+	{
+		Map<String, String> entries = new LinkedHashMap<>();
+		entries.put("key", "value");
+		entries.put(" leading", " leading");
+		entries.put("inner space", "inner space");
+		entries.put("a=b:c", "#!=:");
+		entries.put("", "");
+		entries.put("\u00E9\u4E2D", "\t\n\r\f\\");
+		
+		assertWritten(entries, null);
+	}
+	
+	@Test
+	public void writesCommentsLikeProperties() throws IOException
+	{
+		Map<String, String> entries = new HashMap<>();
+		entries.put("key", "value");
+		
+		for (String comment : Arrays.asList("", "comment", "one\ntwo", "one\r\ntwo\r", "one\n#two\n!three", "\u4E2D\n")) {
+			assertWritten(entries, comment);
+		}
+	}
+	
+	@Test
+	public void matchesRandomLists() throws IOException
+	{
+		Random random = new Random(0x5EED);
+		
+		for (int i = 0; i < 2000; i++) {
+			Map<String, String> entries = new HashMap<>();
+			int size = random.nextInt(8);
+			
+			for (int j = 0; j < size; j++) {
+				entries.put(randomString(random), randomString(random));
+			}
+			assertWritten(entries, random.nextBoolean() ? null : randomString(random));
+		}
+	}
+	
+	@Test
+	public void dropsALargeBufferOnceTrimmed()
+	{
+		PropertiesWriter writer = new PropertiesWriter();
+		Map<String, String> large = new HashMap<>();
+		
+		for (int i = 0; i < 10000; i++) {
+			large.put("key" + i, "value" + i);
+		}
+		
+		writer.write(large, null, false);
+		writer.trim();
+		assertTrue(writer.getBuffer().length <= 64 * 1024);
+		
+		writer.write(new HashMap<>(), "comment", false);
+		
+		String written = new String(writer.getBuffer(), 0, writer.getLength(), StandardCharsets.ISO_8859_1);
+		assertEquals("#comment" + System.lineSeparator(), written);
+	}
+	
+	/**
+	 * A method used to render a list with both writers and compare the results, then to load the
+	 * rendered list back and compare it with the original list.
+	 *
+	 * @param entries Rendered list
+	 * @param comment A description of the property list, or null
+	 * @throws IOException If the list could not be rendered
+	 * @since 1.3.0
+	 */
+	private static void assertWritten(Map<String, String> entries, String comment) throws IOException
+	{
+		java.util.Properties properties = new java.util.Properties();
+		properties.putAll(entries);
+		
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		properties.store(output, comment);
+		
+		// BOTH WRITERS MUST SEE THE ENTRIES IN THE SAME ORDER
+		Map<String, String> ordered = new LinkedHashMap<>();
+		
+		for (Map.Entry<Object, Object> entry : properties.entrySet()) {
+			ordered.put((String) entry.getKey(), (String) entry.getValue());
+		}
+		
+		PropertiesWriter writer = new PropertiesWriter();
+		writer.write(ordered, comment, false);
+		
+		String expected = withoutDate(output.toString("ISO-8859-1"));
+		String actual = new String(writer.getBuffer(), 0, writer.getLength(), StandardCharsets.ISO_8859_1);
+		assertEquals(expected, actual);
+		
+		Map<String, String> loaded = new HashMap<>();
+		new PropertiesParser(new ByteArrayInputStream(writer.getBuffer(), 0, writer.getLength())).parse(loaded);
+		assertEquals(entries, loaded);
+	}
+	
+	/**
+	 * A method used to remove the timestamp line from the output of {@link java.util.Properties}.
+	 *
+	 * @param output Stored list
+	 * @return Stored list without its timestamp line
+	 * @since 1.3.0
+	 */
+	private static String withoutDate(String output)
+	{
+		String separator = System.lineSeparator();
+		StringBuilder result = new StringBuilder();
+		boolean removed = false;
+		
+		for (String line : output.split(separator, -1)) {
+			if (!removed && DATE_LINE.matcher(line).matches()) {
+				removed = true;
+				continue;
+			}
+			result.append(line).append(separator);
+		}
+		return result.substring(0, result.length() - separator.length());
+	}
+	
+	/**
+	 * A method used to create a short random string from characters that need every kind of escaping.
+	 *
+	 * @param random Random source
+	 * @return Random string
+	 * @since 1.3.0
+	 */
+	private static String randomString(Random random)
+	{
+		StringBuilder value = new StringBuilder();
+		int length = random.nextInt(12);
+		
+		for (int i = 0; i < length; i++) {
+			value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+		}
+		return value.toString();
+	}
+}
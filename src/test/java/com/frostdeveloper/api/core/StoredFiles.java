@@ -0,0 +1,51 @@
+package com.frostdeveloper.api.core;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class used by the tests to inspect the files property lists are stored to.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+final class StoredFiles
+{
+	private StoredFiles() { }
+	
+	/**
+	 * A method used to return the file key of a stored file.
+	 *
+	 * @param target Stored file
+	 * @return File key
+	 * @throws IOException If the file attributes could not be read
+	 * @since 1.3.0
+	 */
+	static Object fileKey(Path target) throws IOException
+	{
+		assertTrue(Files.isRegularFile(target));
+		
+		Object key = Files.readAttributes(target, BasicFileAttributes.class).fileKey();
+		assertNotNull("The file system does not report file keys", key);
+		return key;
+	}
+	
+	/**
+	 * A method used to load a stored file into a new property list.
+	 *
+	 * @param target Stored file
+	 * @return Loaded property list
+	 * @since 1.3.0
+	 */
+	static Properties load(Path target)
+	{
+		Properties properties = new Properties();
+		properties.load(target.toFile());
+		return properties;
+	}
+}
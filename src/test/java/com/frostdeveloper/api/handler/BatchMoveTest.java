@@ -0,0 +1,143 @@
+package com.frostdeveloper.api.handler;
+
+import com.frostdeveloper.api.exception.FailedMethodException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * A class used to test that {@link BatchMove} performs every move of a batch, or none of them when any
+ * move fails, and that it refuses two moves sharing a source or a destination.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class BatchMoveTest
+{
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+	
+	private Path directory;
+	
+	@Before
+	public void setUp()
+	{
+		directory = folder.getRoot().toPath();
+	}
+	
+	@Test
+	public void movesEveryIndex() throws IOException
+	{
+		BatchMove batch = new BatchMove(4);
+		for (int i = 0; i < 20; i++) {
+			batch.add(write("source" + i, "content" + i), directory.resolve("target/nested/file" + i));
+		}
+		batch.execute();
+		
+		for (int i = 0; i < 20; i++) {
+			assertFalse(Files.exists(directory.resolve("source" + i)));
+			assertEquals("content" + i, read(directory.resolve("target/nested/file" + i)));
+		}
+	}
+	
+	@Test
+	public void restoresEveryMoveOnFailure() throws IOException
+	{
+		Path first = write("first", "1");
+		Path second = write("second", "2");
+		Path replaced = write("replaced", "old");
+		Path folder = Files.createDirectory(directory.resolve("folder"));
+		
+		// A DIRECTORY CANNOT BE MOVED INTO ITSELF, SO THE LAST MOVE FAILS AFTER THE OTHERS COMPLETED
+		BatchMove batch = new BatchMove(1)
+				.add(first, directory.resolve("moved/first"))
+				.add(second, replaced)
+				.add(folder, folder.resolve("inner/folder"));
+		
+		try {
+			batch.execute();
+			fail("The batch should have failed");
+		}
+		catch (FailedMethodException expected) {
+			// ROLLED BACK
+		}
+		
+		assertEquals("1", read(first));
+		assertEquals("2", read(second));
+		assertEquals("old", read(replaced));
+		assertTrue(Files.isDirectory(folder));
+		assertFalse(Files.exists(directory.resolve("moved")));
+		assertFalse(Files.exists(folder.resolve("inner")));
+		
+		try (Stream<Path> paths = Files.list(directory)) {
+			assertEquals(4, paths.count());
+		}
+	}
+	
+	@Test
+	public void replacesNonEmptyDirectory() throws IOException
+	{
+		Path source = Files.createDirectory(directory.resolve("source"));
+		Files.write(source.resolve("new"), "new".getBytes(StandardCharsets.UTF_8));
+		
+		Path destination = Files.createDirectory(directory.resolve("destination"));
+		Files.write(destination.resolve("old"), "old".getBytes(StandardCharsets.UTF_8));
+		
+		BatchMove.move(source, destination, StandardCopyOption.REPLACE_EXISTING);
+		
+		// THE DESTINATION IS REPLACED RATHER THAN MERGED, AND ITS BACKUP IS DISCARDED
+		assertFalse(Files.exists(source));
+		assertEquals("new", read(destination.resolve("new")));
+		assertFalse(Files.exists(destination.resolve("old")));
+		
+		try (Stream<Path> paths = Files.list(directory)) {
+			assertEquals(1, paths.count());
+		}
+	}
+	
+	@Test(expected = FileAlreadyExistsException.class)
+	public void keepsExistingDirectoryWithoutReplace() throws IOException
+	{
+		Path source = Files.createDirectory(directory.resolve("source"));
+		Files.write(source.resolve("new"), "new".getBytes(StandardCharsets.UTF_8));
+		Files.createDirectory(directory.resolve("destination"));
+		
+		BatchMove.move(source, directory.resolve("destination"));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsSharedSource()
+	{
+		new BatchMove().add(directory.resolve("a"), directory.resolve("b")).add(directory.resolve("a"), directory.resolve("c"));
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsSharedDestination()
+	{
+		new BatchMove().add(directory.resolve("a"), directory.resolve("c")).add(directory.resolve("b"), directory.resolve("./c"));
+	}
+	
+	private Path write(String name, String content) throws IOException
+	{
+		return Files.write(directory.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	private String read(Path path) throws IOException
+	{
+		return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+	}
+}
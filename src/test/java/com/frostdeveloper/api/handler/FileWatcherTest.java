@@ -0,0 +1,75 @@
+package com.frostdeveloper.api.handler;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * A class used to test that {@link FileWatcher} keeps calling a listener after the directory of the
+ * watched file is deleted and created again.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class FileWatcherTest
+{
+	private static final long TIMEOUT = TimeUnit.SECONDS.toMillis(10);
+	
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+	
+	private Path directory;
+	
+	@Before
+	public void setUp()
+	{
+		directory = folder.getRoot().toPath();
+	}
+	
+	@Test
+	public void resumesAfterDirectoryIsRecreated() throws Exception
+	{
+		Path conf = Files.createDirectory(directory.resolve("conf"));
+		Path file = conf.resolve("test.properties");
+		AtomicInteger calls = new AtomicInteger();
+		
+		try (Closeable ignored = FileWatcher.watch(file, calls::incrementAndGet)) {
+			write(file, "key=1");
+			await(calls, 1);
+			
+			Files.delete(file);
+			Files.delete(conf);
+			Files.createDirectory(conf);
+			
+			int before = calls.get();
+			write(file, "key=2");
+			await(calls, before + 1);
+		}
+	}
+	
+	private static void write(Path file, String content) throws IOException
+	{
+		Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	private static void await(AtomicInteger calls, int expected) throws InterruptedException
+	{
+		long deadline = System.currentTimeMillis() + TIMEOUT;
+		
+		while (calls.get() < expected && System.currentTimeMillis() < deadline) {
+			Thread.sleep(20);
+		}
+		assertTrue("The listener was not called", calls.get() >= expected);
+	}
+}
@@ -0,0 +1,100 @@
+package com.frostdeveloper.api.handler;
+
+import com.frostdeveloper.api.exception.FailedMethodException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.fail;
+
+/**
+ * A class used to test that {@link ResourceExtractor} writes the matching resources of a jar, only
+ * rewrites changed copies, and refuses entries whose name points outside of the target directory.
+ *
+ * @author OMGitzFROST
+ * @since 1.3.0
+ */
+public class ResourceExtractorTest
+{
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+	
+	private Path directory;
+	private Path target;
+	
+	@Before
+	public void setUp()
+	{
+		directory = folder.getRoot().toPath();
+		target = directory.resolve("target");
+	}
+	
+	@Test
+	public void extractsMatchingEntries() throws IOException
+	{
+		Path jar = jar("data/a.txt", "a", "data/nested/b.txt", "b", "other/c.txt", "c");
+		ResourceExtractor extractor = new ResourceExtractor(jar, 2, 1024);
+		
+		assertEquals(2, extractor.extract(target.toFile(), "data/", true));
+		assertEquals("a", read(target.resolve("data/a.txt")));
+		assertEquals("b", read(target.resolve("data/nested/b.txt")));
+		assertFalse(Files.exists(target.resolve("other")));
+		
+		// IDENTICAL COPIES ARE NOT WRITTEN AGAIN, CHANGED COPIES ARE
+		Files.write(target.resolve("data/a.txt"), "changed".getBytes(StandardCharsets.UTF_8));
+		assertEquals(1, extractor.extract(target.toFile(), "data/", true));
+		assertEquals("a", read(target.resolve("data/a.txt")));
+	}
+	
+	@Test
+	public void rejectsEntryOutsideOfTarget() throws IOException
+	{
+		Path jar = jar("data/a.txt", "a", "data/../../escaped.txt", "evil");
+		
+		try {
+			new ResourceExtractor(jar, 2, 1024).extract(target.toFile(), "data/", true);
+			fail("The entry climbing out of the target directory should have been rejected");
+		}
+		catch (FailedMethodException expected) {
+			// REJECTED
+		}
+		
+		assertFalse(Files.exists(directory.resolve("escaped.txt")));
+		assertFalse(Files.exists(target.resolve("data/a.txt")));
+	}
+	
+	private Path jar(String... entries) throws IOException
+	{
+		Path jar = directory.resolve("resources.jar");
+		
+		try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+			for (int i = 0; i < entries.length; i += 2) {
+				output.putNextEntry(new JarEntry(entries[i]));
+				write(output, entries[i + 1]);
+				output.closeEntry();
+			}
+		}
+		return jar;
+	}
+	
+	private static void write(OutputStream output, String content) throws IOException
+	{
+		output.write(content.getBytes(StandardCharsets.UTF_8));
+	}
+	
+	private static String read(Path path) throws IOException
+	{
+		return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+	}
+}